@@ -0,0 +1,29 @@
+package com.banking.reactive;
+
+import com.banking.cards.common.MaskedValueFactory;
+import com.banking.cards.config.MaskingConfig;
+import com.banking.cards.security.JwtKeyRing;
+import com.banking.cards.security.JwtSecretKey;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Неблокирующий сервис чтения карт: те же {@code GET /api/cards/info} и {@code GET /api/side-service/{uuid}},
+ * что и в основном приложении, но на WebFlux и R2DBC. Запись и остальные эндпоинты остаются за MVC-версией.
+ */
+@SpringBootApplication
+@EnableScheduling
+@Import({MaskingConfig.class, MaskedValueFactory.class, JwtKeyRing.class, JwtSecretKey.class})
+public class ReactiveReadApplication {
+
+	// Своё имя конфигурации: рядом с основным приложением на одном classpath не подхватить его application.yaml
+	public static final String CONFIG_NAME = "spring.config.name=reactive-read";
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveReadApplication.class)
+				.properties(CONFIG_NAME)
+				.run(args);
+	}
+}
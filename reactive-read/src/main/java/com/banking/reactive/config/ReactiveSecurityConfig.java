@@ -0,0 +1,44 @@
+package com.banking.reactive.config;
+
+import com.banking.reactive.security.JwtAuthenticationWebFilter;
+import com.banking.reactive.security.JwtVerifier;
+import com.banking.reactive.security.ReactiveTokenRevocationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            JwtVerifier jwtVerifier,
+            ReactiveTokenRevocationService revocationService
+    ) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                // Без сессий: аутентификация только по токену в каждом запросе
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/cards/info").hasRole("USER")
+                        .pathMatchers(HttpMethod.GET, "/api/side-service/*").hasRole("INTEGRATION")
+                        .anyExchange().denyAll())
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtVerifier, revocationService), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
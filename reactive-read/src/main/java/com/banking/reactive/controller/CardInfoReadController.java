@@ -0,0 +1,31 @@
+package com.banking.reactive.controller;
+
+import com.banking.cards.dto.response.CardDto;
+import com.banking.cards.dto.response.PageResponse;
+import com.banking.reactive.service.CardReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/cards/info")
+@RequiredArgsConstructor
+public class CardInfoReadController {
+
+    private final CardReadService cardReadService;
+
+    @GetMapping
+    public Mono<PageResponse<CardDto>> getMyCards(
+            @AuthenticationPrincipal String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return cardReadService.getUserCards(UUID.fromString(userId), page, size);
+    }
+}
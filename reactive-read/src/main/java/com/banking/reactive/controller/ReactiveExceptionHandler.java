@@ -0,0 +1,48 @@
+package com.banking.reactive.controller;
+
+import com.banking.cards.dto.response.ApiErrorResponse;
+import com.banking.reactive.service.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.Instant;
+
+/**
+ * Ошибки в формате {@link ApiErrorResponse}, как у {@code GlobalExceptionHandler} MVC-версии.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler({IllegalArgumentException.class, ServerWebInputException.class})
+    public ResponseEntity<ApiErrorResponse> handleBadRequest(Exception ex, ServerHttpRequest request) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleNotFound(NotFoundException ex, ServerHttpRequest request) {
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiErrorResponse> handleGeneric(Exception ex, ServerHttpRequest request) {
+        log.error(ex.getMessage(), ex);
+        return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", request);
+    }
+
+    private ResponseEntity<ApiErrorResponse> buildResponse(HttpStatus status, String message, ServerHttpRequest request) {
+        ApiErrorResponse body = new ApiErrorResponse(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getPath().value()
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.reactive.controller;
+
+import com.banking.cards.dto.response.CardDto;
+import com.banking.cards.dto.response.PageResponse;
+import com.banking.reactive.service.CardReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/side-service")
+@RequiredArgsConstructor
+public class SideServiceReadController {
+
+    private final CardReadService cardReadService;
+
+    @GetMapping("{uuid}")
+    public Mono<PageResponse<CardDto>> getAllUserCards(
+            @PathVariable UUID uuid,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return cardReadService.getUserCards(uuid, page, Math.min(size, 50));
+    }
+}
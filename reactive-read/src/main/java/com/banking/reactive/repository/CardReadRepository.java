@@ -0,0 +1,81 @@
+package com.banking.reactive.repository;
+
+import com.banking.cards.common.CardStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Чтение карт пользователя через R2DBC.
+ * <p>
+ * Баланс считается в том же запросе по правилам {@code CardBalanceService} основного приложения:
+ * сумма шардов у шардированной карты, баланс плюс неперенесённые зачисления у hot-карты,
+ * иначе {@code cards.balance}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CardReadRepository {
+
+    private static final String FIND_USER_ID = "SELECT id FROM users WHERE unique_key = :userKey";
+
+    private static final String FIND_CARDS = """
+            SELECT c.card_number,
+                   c.validity_period,
+                   c.status,
+                   CASE
+                       WHEN c.balance_shards > 0 THEN (
+                           SELECT coalesce(sum(s.balance), 0)
+                           FROM card_balance_shards s
+                           WHERE s.card_id = c.id)
+                       WHEN c.hot THEN c.balance + coalesce((
+                           SELECT sum(o.amount)
+                           FROM card_operations o
+                           WHERE o.to_card_id = c.id AND o.applied = false), 0)
+                       ELSE c.balance
+                   END AS balance
+            FROM cards c
+            WHERE c.user_id = :userId
+            ORDER BY c.id
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String COUNT_CARDS = "SELECT count(*) FROM cards WHERE user_id = :userId";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Long> findUserId(UUID userKey) {
+        return databaseClient.sql(FIND_USER_ID)
+                .bind("userKey", userKey)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Flux<CardRow> findCards(Long userId, int page, int size) {
+        return databaseClient.sql(FIND_CARDS)
+                .bind("userId", userId)
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(row -> new CardRow(
+                        row.get("card_number", String.class),
+                        YearMonth.parse(row.get("validity_period", String.class)),
+                        CardStatus.valueOf(row.get("status", String.class)),
+                        row.get("balance", BigDecimal.class)
+                ))
+                .all();
+    }
+
+    public Mono<Long> countCards(Long userId) {
+        return databaseClient.sql(COUNT_CARDS)
+                .bind("userId", userId)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public record CardRow(String cardNumber, YearMonth validityPeriod, CardStatus status, BigDecimal balance) {}
+}
@@ -0,0 +1,66 @@
+package com.banking.reactive.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Реактивный аналог {@code JwtAuthenticationFilter}: валидный и не отозванный Bearer-токен
+ * становится аутентификацией с subject в качестве principal и ролями из claim {@code roles}.
+ * Невалидный токен не обрывает запрос — дальше его отклонит авторизация.
+ * <p>
+ * Не бин: иначе WebFlux добавил бы фильтр ещё и в общую цепочку, и токен проверялся бы дважды.
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final ReactiveTokenRevocationService revocationService;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        return Mono.justOrEmpty(jwtVerifier.parseToken(header.substring(BEARER_PREFIX.length())))
+                .filterWhen(this::isNotRevoked)
+                .map(JwtAuthenticationWebFilter::toAuthentication)
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                        .thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+                .then();
+    }
+
+    private Mono<Boolean> isNotRevoked(Claims claims) {
+        // Токены без jti выпущены до появления отзыва
+        return claims.getId() == null
+                ? Mono.just(true)
+                : revocationService.isRevoked(claims.getId()).map(revoked -> !revoked);
+    }
+
+    private static Authentication toAuthentication(Claims claims) {
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get("roles", List.class);
+
+        List<SimpleGrantedAuthority> authorities = roles == null
+                ? List.of()
+                : roles.stream().map(SimpleGrantedAuthority::new).toList();
+
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+    }
+}
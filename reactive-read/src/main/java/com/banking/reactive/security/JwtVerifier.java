@@ -0,0 +1,63 @@
+package com.banking.reactive.security;
+
+import com.banking.cards.security.JwtKeyRing;
+import com.banking.cards.security.JwtSecretKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Optional;
+
+/**
+ * Проверка access-токенов по тем же правилам, что и {@code JwtService} основного приложения:
+ * токен с {@code kid} проверяется ключом из key ring, без {@code kid} — HS256-ключом {@code secret-key}
+ * (при включённом key ring — только в окне миграции, см. {@link JwtSecretKey}).
+ * Этот сервис токены не выпускает.
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+    private final JwtKeyRing keyRing;
+    private final JwtSecretKey secretKey;
+    private final JwtParser parser;
+
+    public JwtVerifier(
+            JwtKeyRing keyRing,
+            JwtSecretKey secretKey
+    ) {
+        this.keyRing = keyRing;
+        this.secretKey = secretKey;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public Optional<Claims> parseToken(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Key resolveVerificationKey(String kid) {
+        if (kid != null) {
+            return keyRing.verificationKey(kid)
+                    .orElseThrow(() -> new JwtException("Unknown key id: " + kid));
+        }
+        return secretKey.verificationKey();
+    }
+}
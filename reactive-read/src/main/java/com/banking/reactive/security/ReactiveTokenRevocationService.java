@@ -0,0 +1,97 @@
+package com.banking.reactive.security;
+
+import com.banking.cards.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Отозванные токены для реактивного сервиса: тот же Bloom-фильтр по {@code revoked_tokens},
+ * что и у {@code TokenRevocationService}, но запросы к таблице идут через R2DBC.
+ * Отзывы пишет только основное приложение; здесь они видны через {@code sync-interval}.
+ */
+@Slf4j
+@Service
+public class ReactiveTokenRevocationService {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final DatabaseClient databaseClient;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public ReactiveTokenRevocationService(
+            DatabaseClient databaseClient,
+            @Value("${application.security.jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+            @Value("${application.security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.databaseClient = databaseClient;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public Mono<Boolean> isRevoked(String jti) {
+        if (!filter.mightContain(jti)) {
+            return Mono.just(false);
+        }
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM revoked_tokens WHERE jti = :jti)")
+                .bind("jti", jti)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.sync-interval:10000}")
+    public Mono<Void> sync() {
+        Instant now = Instant.now();
+        BloomFilter current = filter;
+        return databaseClient.sql("""
+                        SELECT jti FROM revoked_tokens
+                        WHERE created_at > :after AND expires_at > :now
+                        """)
+                .bind("after", local(lastSync.minus(SYNC_OVERLAP)))
+                .bind("now", local(now))
+                .map(row -> row.get("jti", String.class))
+                .all()
+                .doOnNext(current::put)
+                .then(Mono.fromRunnable(() -> lastSync = now));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${application.security.jwt.revocation.rebuild-interval:3600000}",
+            fixedDelayString = "${application.security.jwt.revocation.rebuild-interval:3600000}"
+    )
+    public Mono<Void> rebuild() {
+        Instant now = Instant.now();
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Mono<Void> load = databaseClient.sql("SELECT jti FROM revoked_tokens WHERE expires_at > :now")
+                .bind("now", local(now))
+                .map(row -> row.get("jti", String.class))
+                .all()
+                .doOnNext(rebuilt::put)
+                .then(Mono.fromRunnable(() -> {
+                    filter = rebuilt;
+                    lastSync = now;
+                }));
+        return load.doOnSuccess(ignored -> log.info("Revocation filter rebuilt"));
+    }
+
+    // Колонки TIMESTAMP без зоны: Hibernate пишет в них Instant во временной зоне JVM
+    private static LocalDateTime local(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
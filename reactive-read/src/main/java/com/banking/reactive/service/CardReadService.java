@@ -0,0 +1,53 @@
+package com.banking.reactive.service;
+
+import com.banking.cards.common.MaskedValueFactory;
+import com.banking.cards.dto.response.CardDto;
+import com.banking.cards.dto.response.PageResponse;
+import com.banking.cards.util.MathUtil;
+import com.banking.reactive.repository.CardReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class CardReadService {
+
+    private final CardReadRepository repository;
+    private final MaskedValueFactory maskedValueFactory;
+
+    public Mono<PageResponse<CardDto>> getUserCards(UUID userKey, int page, int size) {
+        // Те же ограничения, что у PageRequest.of в MVC-версии
+        if (page < 0) {
+            return Mono.error(new IllegalArgumentException("Page index must not be less than zero"));
+        }
+        if (size < 1) {
+            return Mono.error(new IllegalArgumentException("Page size must not be less than one"));
+        }
+
+        return repository.findUserId(userKey)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found")))
+                .flatMap(userId -> Mono.zip(
+                        repository.findCards(userId, page, size).map(this::toDto).collectList(),
+                        repository.countCards(userId)
+                ))
+                .map(result -> new PageResponse<>(
+                        result.getT1(),
+                        page,
+                        size,
+                        result.getT2(),
+                        (int) Math.ceil((double) result.getT2() / size)
+                ));
+    }
+
+    private CardDto toDto(CardReadRepository.CardRow row) {
+        return new CardDto(
+                maskedValueFactory.createCardNumber(row.cardNumber()),
+                row.validityPeriod(),
+                row.status(),
+                maskedValueFactory.createCardNumber(MathUtil.roundBalanceTo2SymbolsAfterPoint(row.balance()))
+        );
+    }
+}
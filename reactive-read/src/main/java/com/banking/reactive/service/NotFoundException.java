@@ -0,0 +1,7 @@
+package com.banking.reactive.service;
+
+public class NotFoundException extends RuntimeException {
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,244 @@
+package com.banking.reactive.benchmark;
+
+import com.banking.cards.CardsApplication;
+import com.banking.cards.common.CardStatus;
+import com.banking.cards.common.Role;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.User;
+import com.banking.cards.repository.CardRepository;
+import com.banking.cards.repository.UserRepository;
+import com.banking.reactive.ReactiveReadApplication;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code GET /api/cards/info} и {@code GET /api/side-service/{uuid}} под высокой конкуренцией:
+ * MVC + JDBC против WebFlux + R2DBC при одинаковом числе соединений с БД.
+ * <p>
+ * Оба приложения поднимаются на одной БД (схему создаёт Liquibase основного). Запуск —
+ * {@code ./gradlew benchmark} (нужен Docker).
+ */
+@Tag("benchmark")
+@Testcontainers
+class ReadApiBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int POOL_SIZE = 10;
+    private static final int CARDS = 20;
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    private static final String R2DBC_AUTOCONFIGURATION = String.join(",",
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration"
+    );
+
+    private static final String JDBC_AUTOCONFIGURATION = String.join(",",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration"
+    );
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("getMyCards и getAllUserCards - MVC против WebFlux при равном числе соединений")
+    void readEndpoints_mvcVersusReactive() throws Exception {
+        try (ConfigurableApplicationContext mvc = startMvc();
+             ConfigurableApplicationContext reactive = startReactive()) {
+            UUID userKey = seed(mvc);
+            String userToken = userToken(userKey);
+            String integrationToken = integrationToken();
+            String cardInfo = "/api/cards/info?page=0&size=" + CARDS;
+            String sideService = "/api/side-service/" + userKey;
+
+            Result mvcCardInfo = load(port(mvc), cardInfo, userToken);
+            Result reactiveCardInfo = load(port(reactive), cardInfo, userToken);
+            Result mvcSideService = load(port(mvc), sideService, integrationToken);
+            Result reactiveSideService = load(port(reactive), sideService, integrationToken);
+
+            System.out.printf("%n%-14s %-10s %8s %8s %10s %10s%n", "endpoint", "stack", "ok", "errors", "ops/s", "p99 ms");
+            mvcCardInfo.print("cards/info", "mvc");
+            reactiveCardInfo.print("cards/info", "reactive");
+            mvcSideService.print("side-service", "mvc");
+            reactiveSideService.print("side-service", "reactive");
+
+            assertThat(mvcCardInfo.succeeded()).isPositive();
+            assertThat(reactiveCardInfo.succeeded()).isPositive();
+            assertThat(mvcSideService.succeeded()).isPositive();
+            assertThat(reactiveSideService.succeeded()).isPositive();
+        }
+    }
+
+    private ConfigurableApplicationContext startMvc() {
+        return new SpringApplicationBuilder(CardsApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.autoconfigure.exclude=" + R2DBC_AUTOCONFIGURATION,
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        // readOnly-чтения MVC идут в пул read: он и сравнивается с пулом R2DBC
+                        "application.datasource.pools.read.maximum-pool-size=" + POOL_SIZE,
+                        "application.datasource.pools.read.minimum-idle=" + POOL_SIZE,
+                        "application.datasource.pools.read.connection-timeout=30000",
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.jpa.show-sql=false",
+                        "spring.docker.compose.enabled=false",
+                        "application.security.jwt.secret-key=" + SECRET,
+                        "application.access-log.enabled=false",
+                        "application.rate-limit.enabled=false",
+                        "application.archive.enabled=false"
+                )
+                .run();
+    }
+
+    private ConfigurableApplicationContext startReactive() {
+        return new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties(
+                        ReactiveReadApplication.CONFIG_NAME,
+                        "server.port=0",
+                        "spring.autoconfigure.exclude=" + JDBC_AUTOCONFIGURATION,
+                        "spring.r2dbc.url=r2dbc:postgresql://" + postgres.getHost() + ":"
+                                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName(),
+                        "spring.r2dbc.username=" + postgres.getUsername(),
+                        "spring.r2dbc.password=" + postgres.getPassword(),
+                        "spring.r2dbc.pool.initial-size=" + POOL_SIZE,
+                        "spring.r2dbc.pool.max-size=" + POOL_SIZE,
+                        "application.security.jwt.secret-key=" + SECRET
+                )
+                .run();
+    }
+
+    private Result load(int port, String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger recorded = new AtomicInteger();
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - sent;
+                        (response.statusCode() == 200 ? succeeded : failed).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        long p99 = sorted.length == 0 ? 0 : sorted[(int) (sorted.length * 0.99) - 1];
+        return new Result(succeeded.get(), failed.get(), System.nanoTime() - started, p99);
+    }
+
+    private static UUID seed(ConfigurableApplicationContext mvc) {
+        User user = mvc.getBean(UserRepository.class).save(User.builder()
+                .username("bench-" + UUID.randomUUID())
+                .password("n/a")
+                .role(Role.USER)
+                .build());
+
+        List<Card> cards = new ArrayList<>(CARDS);
+        for (int i = 0; i < CARDS; i++) {
+            cards.add(Card.builder()
+                    .cardNumber("4000" + String.format("%012d", ThreadLocalRandom.current().nextLong(1_000_000_000_000L)))
+                    .owner(user)
+                    .validityPeriod(YearMonth.now().plusYears(3))
+                    .status(CardStatus.ACTIVE)
+                    .balance(new BigDecimal("100.00"))
+                    .build());
+        }
+        mvc.getBean(CardRepository.class).saveAll(cards);
+        return user.getUniqueKey();
+    }
+
+    private static String userToken(UUID userKey) {
+        return token(userKey.toString(), "ROLE_USER");
+    }
+
+    private static String integrationToken() {
+        return token("benchmark", "ROLE_INTEGRATION");
+    }
+
+    private static String token(String subject, String role) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + Duration.ofHours(1).toMillis()))
+                .claim("roles", List.of(role))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private record Result(int succeeded, int failed, long elapsedNanos, long p99Nanos) {
+        void print(String endpoint, String stack) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%-14s %-10s %8d %8d %10.0f %10.1f%n",
+                    endpoint, stack, succeeded, failed, succeeded / seconds, p99Nanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.banking.reactive.service;
+
+import com.banking.cards.common.CardStatus;
+import com.banking.cards.common.MaskedValueFactory;
+import com.banking.cards.config.MaskingConfig;
+import com.banking.reactive.repository.CardReadRepository;
+import com.banking.reactive.repository.CardReadRepository.CardRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CardReadServiceTest {
+
+    private static final UUID USER_KEY = UUID.fromString("6f1c2a4e-8d3b-4a7f-9c21-5e0b7d9a1f34");
+
+    @Mock
+    private CardReadRepository repository;
+
+    private CardReadService service;
+
+    @BeforeEach
+    void setUp() {
+        MaskingConfig maskingConfig = new MaskingConfig();
+        maskingConfig.setEnable(true);
+        maskingConfig.setMaskSymbol('*');
+        maskingConfig.setVisibleCardTailLength(4);
+        service = new CardReadService(repository, new MaskedValueFactory(maskingConfig));
+    }
+
+    @Test
+    @DisplayName("getUserCards - Маскирует номер и округляет баланс, как MVC-версия")
+    void getUserCards_shouldMaskNumberAndRoundBalance() {
+        // Arrange
+        when(repository.findUserId(USER_KEY)).thenReturn(Mono.just(7L));
+        when(repository.findCards(7L, 0, 2)).thenReturn(Flux.just(
+                new CardRow("4276550012345678", YearMonth.of(2028, 5), CardStatus.ACTIVE, new BigDecimal("10.005"))
+        ));
+        when(repository.countCards(7L)).thenReturn(Mono.just(3L));
+
+        // Act & Assert
+        StepVerifier.create(service.getUserCards(USER_KEY, 0, 2))
+                .assertNext(page -> {
+                    assertThat(page.totalElements()).isEqualTo(3);
+                    assertThat(page.totalPages()).isEqualTo(2);
+                    assertThat(page.content()).hasSize(1);
+                    assertThat(page.content().get(0).maskedNumber()).hasToString("************5678");
+                    assertThat(page.content().get(0).balance().value()).isEqualByComparingTo("10.01");
+                    assertThat(page.content().get(0).balance().value().scale()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("getUserCards - Неизвестный пользователь даёт NotFoundException")
+    void getUserCards_unknownUser_shouldFail() {
+        // Arrange
+        when(repository.findUserId(USER_KEY)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(service.getUserCards(USER_KEY, 0, 10))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(NotFoundException.class)
+                        .hasMessage("User not found"))
+                .verify();
+        verify(repository).findUserId(USER_KEY);
+    }
+
+    @Test
+    @DisplayName("getUserCards - Некорректный размер страницы отклоняется без запроса в БД")
+    void getUserCards_invalidSize_shouldFailWithoutQuery() {
+        // Act & Assert
+        StepVerifier.create(service.getUserCards(USER_KEY, 0, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(repository);
+    }
+}
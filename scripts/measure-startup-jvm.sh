@@ -0,0 +1,48 @@
+#!/usr/bin/env sh
+# Замер старта JVM без Docker и без БД: ./scripts/measure-startup-jvm.sh [число прогонов]
+#
+# Сравнивает обычный запуск jar с распакованным jar и архивом CDS, как в образе, без профиля prod и с ним.
+# Контекст поднимается с профилем cds-training (без БД) и завершается после refresh (spring.context.exit=onRefresh),
+# поэтому время — от запуска java до выхода процесса, без подключения к PostgreSQL и Liquibase.
+# Профиль prod в замере включает ленивую инициализацию, которую cds-training для обучения отключает.
+set -eu
+
+RUNS="${1:-5}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+WORK=build/startup
+
+JAR=$(ls build/libs/cards-*.jar | grep -v -- -plain)
+rm -rf "$WORK"
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$WORK" > /dev/null
+mv "$WORK"/cards-*.jar "$WORK/app.jar"
+
+COMMON="-Dspring.context.exit=onRefresh -Dlogging.level.root=WARN"
+DEFAULT="-Dspring.profiles.active=cds-training"
+PROD="-Dspring.profiles.active=prod,cds-training -Dspring.main.lazy-initialization=true"
+
+# Обучающий прогон, как в Dockerfile
+"$JAVA" -XX:ArchiveClassesAtExit="$WORK/app.jsa" $COMMON -Dspring.profiles.active=prod,cds-training \
+    -jar "$WORK/app.jar" > /dev/null
+
+measure() {
+    label="$1"; shift
+    total=0
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        started=$(date +%s%N)
+        "$JAVA" "$@" > /dev/null
+        elapsed=$(( ($(date +%s%N) - started) / 1000000 ))
+        echo "$label #$i: $elapsed ms"
+        total=$((total + elapsed))
+        i=$((i + 1))
+    done
+    echo "$label, среднее: $((total / RUNS)) ms"
+}
+
+# Первый запуск прогревает файловый кэш ОС и в замер не входит
+"$JAVA" $COMMON $DEFAULT -jar "$JAR" > /dev/null
+
+measure "jar"              $COMMON $DEFAULT -jar "$JAR"
+measure "jar, prod"        $COMMON $PROD -jar "$JAR"
+measure "CDS"              -XX:SharedArchiveFile="$WORK/app.jsa" $COMMON $DEFAULT -jar "$WORK/app.jar"
+measure "CDS, prod"        -XX:SharedArchiveFile="$WORK/app.jsa" $COMMON $PROD -jar "$WORK/app.jar"
@@ -0,0 +1,52 @@
+#!/usr/bin/env sh
+# Замер времени старта образа в разных вариантах: ./scripts/measure-startup.sh [число прогонов]
+#
+# Собирает образ без AOT и с AOT, поднимает PostgreSQL из compose.yaml и для каждого варианта
+# N раз запускает контейнер до строки "Started CardsApplication in ...".
+# Liquibase в prod-вариантах выключен (схему накатывает запуск с --migrate), как на репликах.
+set -eu
+
+RUNS="${1:-5}"
+JWT_SECRET_KEY="$(od -An -N32 -tx1 /dev/urandom | tr -d ' \n')"
+NETWORK="$(basename "$(pwd)")_default"
+
+docker compose up -d postgres
+docker build -q -t cards:jit .
+docker build -q -t cards:aot --build-arg AOT=true .
+
+start() {
+    image="$1"; profiles="$2"; liquibase="$3"; java_options="$4"
+    cid=$(docker run -d --network "$NETWORK" \
+        -e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/mydatabase \
+        -e SPRING_DATASOURCE_USERNAME=admin -e SPRING_DATASOURCE_PASSWORD=secret \
+        -e SPRING_PROFILES_ACTIVE="$profiles" -e LIQUIBASE_ENABLED="$liquibase" \
+        -e JWT_SECRET_KEY="$JWT_SECRET_KEY" \
+        -e JAVA_TOOL_OPTIONS="$java_options" \
+        "$image")
+    until docker logs "$cid" 2>&1 | grep -q -e 'Started CardsApplication' -e 'APPLICATION FAILED'; do
+        sleep 0.2
+    done
+    docker logs "$cid" 2>&1 | grep -o -e 'Started CardsApplication in [0-9.]* seconds' -e 'APPLICATION FAILED TO START'
+    docker rm -f "$cid" > /dev/null
+}
+
+measure() {
+    label="$1"; shift
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        echo "$label #$i: $(start "$@")"
+        i=$((i + 1))
+    done
+}
+
+# Схема — одноразовым запуском миграций, администратор — прогревом
+docker run --rm --network "$NETWORK" \
+    -e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/mydatabase \
+    -e SPRING_DATASOURCE_USERNAME=admin -e SPRING_DATASOURCE_PASSWORD=secret \
+    -e JWT_SECRET_KEY="$JWT_SECRET_KEY" \
+    cards:jit --migrate > /dev/null
+start cards:jit default true "" > /dev/null
+
+measure "default, Liquibase, CDS off"        cards:jit default true  "-Xshare:off"
+measure "prod, CDS"                          cards:jit prod    false ""
+measure "prod, CDS, AOT"                     cards:aot prod    false ""
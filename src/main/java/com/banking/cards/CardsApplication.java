@@ -2,14 +2,48 @@ package com.banking.cards;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.core.NativeDetector;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 @SpringBootApplication
-@EnableScheduling
 public class CardsApplication {
 
+	/**
+	 * Аргумент одноразового запуска миграций: применить changelog и завершиться.
+	 */
+	public static final String MIGRATE_ARG = "--migrate";
+
+	// Аргументы командной строки старше профилей: prod с LIQUIBASE_ENABLED=false их не перебьёт
+	private static final String[] MIGRATE_PROPERTIES = {
+			"--spring.main.web-application-type=none",
+			"--spring.main.lazy-initialization=false",
+			"--spring.liquibase.enabled=true",
+			"--application.admin.seed-on-start=true",
+			"--application.scheduling.enabled=false",
+			"--application.security.jwt.revocation.load-on-start=false"
+	};
+
 	public static void main(String[] args) {
+		if (Arrays.asList(args).contains(MIGRATE_ARG)) {
+			System.exit(migrate(args));
+		}
 		SpringApplication.run(CardsApplication.class, args);
 	}
 
+	private static int migrate(String[] args) {
+		if (NativeDetector.inNativeImage()) {
+			throw new IllegalStateException("Native image is built without Liquibase; run " + MIGRATE_ARG + " with the JVM image");
+		}
+		// Классы AOT собраны под профиль без Liquibase, миграции идут обычной обработкой конфигурации
+		System.setProperty("spring.aot.enabled", "false");
+
+		String[] migrateArgs = Stream.concat(
+						Arrays.stream(args).filter(arg -> !MIGRATE_ARG.equals(arg)),
+						Arrays.stream(MIGRATE_PROPERTIES))
+				.toArray(String[]::new);
+		return SpringApplication.exit(SpringApplication.run(CardsApplication.class, migrateArgs));
+	}
+
 }
@@ -0,0 +1,30 @@
+package com.banking.cards.common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Таблицы, строки которых уходят в архивные сегменты.
+ * Первые две колонки всегда {@code id} и {@code created_at}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ArchiveTable {
+    CARD_OPERATIONS(
+            "card_operations",
+            List.of("id", "created_at", "type", "amount", "from_card", "to_card"),
+            List.of("from_card", "to_card")
+    ),
+    AUDIT_LOGS(
+            "audit_logs",
+            List.of("id", "created_at", "actor_user_id", "actor_role", "action", "entity_type", "entity_id", "details"),
+            List.of("entity_id")
+    );
+
+    private final String tableName;
+    private final List<String> columns;
+    // Колонки с номерами карт — попадают в Bloom-фильтр сегмента для поиска по карте
+    private final List<String> cardColumns;
+}
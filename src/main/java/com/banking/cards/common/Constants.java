@@ -2,4 +2,8 @@ package com.banking.cards.common;
 
 public final class Constants {
     public static final String CARD_PATTERN = "^(\\d{4}[- ]?){3}\\d{4}$|^\\d{13,19}$";
+
+    // Сообщения отказов денежных операций; по ним же размечается исход в метриках
+    public static final String INSUFFICIENT_FUNDS = "Insufficient funds";
+    public static final String CARD_NOT_ACTIVE = "Card is not active";
 }
@@ -0,0 +1,8 @@
+package com.banking.cards.common;
+
+public enum LedgerEntryKind {
+    OPENING,
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER
+}
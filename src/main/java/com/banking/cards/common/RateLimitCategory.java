@@ -0,0 +1,35 @@
+package com.banking.cards.common;
+
+import java.util.List;
+
+/**
+ * Классы эндпоинтов с отдельными квотами. Ключ категории совпадает с ключом в
+ * {@code application.rate-limit.limits.<role>.<key>}.
+ */
+public enum RateLimitCategory {
+    CARD_OPERATIONS("card-operations", List.of("/api/cards/deposit", "/api/cards/withdraw", "/api/cards/transfer")),
+    SIDE_SERVICE("side-service", List.of("/api/side-service"));
+
+    private final String key;
+    private final List<String> pathPrefixes;
+
+    RateLimitCategory(String key, List<String> pathPrefixes) {
+        this.key = key;
+        this.pathPrefixes = pathPrefixes;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static RateLimitCategory resolve(String path) {
+        for (RateLimitCategory category : values()) {
+            for (String prefix : category.pathPrefixes) {
+                if (path.startsWith(prefix)) {
+                    return category;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.banking.cards.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(
+        description = "Статус запланированного перевода",
+        example = "PENDING"
+)
+public enum ScheduledTransferStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED,
+    CANCELLED
+}
@@ -4,12 +4,17 @@ public enum AuditAction {
     CARD_CREATED,
     CARD_DELETED,
     CARD_STATUS_CHANGED,
+    CARD_HOT_MODE_CHANGED,
+    CARD_BALANCE_SHARDS_CHANGED,
 
     CARD_DEPOSIT,
     CARD_WITHDRAW,
     CARD_TRANSFER_OUT,
     CARD_TRANSFER_IN,
 
+    SCHEDULED_TRANSFER_CREATED,
+    SCHEDULED_TRANSFER_CANCELLED,
+
     USER_REGISTERED,
     USER_ROLE_CHANGED
 }
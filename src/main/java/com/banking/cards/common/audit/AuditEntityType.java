@@ -3,5 +3,6 @@ package com.banking.cards.common.audit;
 public enum AuditEntityType {
     CARD,
     USER,
-    CARD_OPERATION
+    CARD_OPERATION,
+    SCHEDULED_TRANSFER
 }
@@ -1,42 +1,115 @@
 package com.banking.cards.common.audit;
 
-import lombok.extern.slf4j.Slf4j;
+import com.banking.cards.config.AccessLogProperties;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Журнал доступа к REST-контроллерам.
+ * <p>
+ * Пишет в отдельный логгер {@code access}, который в logback-spring.xml выведен через асинхронный
+ * appender с ограниченной очередью. Решение о записи (уровень, sampling) принимается до того,
+ * как собираются роли, поэтому пропущенные вызовы почти ничего не стоят. Аргументы передаются
+ * обёрткой и превращаются в строку только при форматировании, в потоке асинхронного appender'а.
+ */
 @Aspect
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class ControllerLogAspect {
 
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    private final AccessLogProperties properties;
+    private final ConcurrentMap<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
     @Pointcut("within(@org.springframework.web.bind.annotation.RestController *)")
     public void restControllerMethods() {}
 
     @Before("restControllerMethods()")
     public void logUserAccess(JoinPoint joinPoint) {
+        if (!properties.isEnabled() || !accessLog.isInfoEnabled()) {
+            return;
+        }
+
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
         if (Objects.isNull(auth) || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
             return;
         }
 
-        String username = auth.getName();
-        String roles = auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(", "));
-        Object[] args = joinPoint.getArgs();
-        String methodName = joinPoint.getSignature().getName();
+        Endpoint endpoint = endpoints.computeIfAbsent(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                this::resolveEndpoint
+        );
+        if (!endpoint.sampled()) {
+            return;
+        }
+
+        LoggingEventBuilder event = accessLog.atInfo()
+                .addKeyValue("user", auth.getName())
+                .addKeyValue("roles", joinAuthorities(auth))
+                .addKeyValue("endpoint", endpoint.name());
+        if (properties.isIncludeArgs()) {
+            event.addKeyValue("args", new LazyArgs(joinPoint.getArgs()));
+        }
+        event.log("ACCESS AUDIT");
+    }
+
+    private Endpoint resolveEndpoint(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        double rate = properties.getEndpoints().getOrDefault(name, properties.getSampleRate());
+        return new Endpoint(name, Math.max(0.0, Math.min(1.0, rate)));
+    }
 
-        log.info("ACCESS AUDIT | User: {} | Roles: [{}] | Method: {} with args: [{}]",
-                username, roles, methodName, args);
+    private static String joinAuthorities(Authentication auth) {
+        Iterator<? extends GrantedAuthority> it = auth.getAuthorities().iterator();
+        if (!it.hasNext()) {
+            return "";
+        }
+
+        String first = it.next().getAuthority();
+        if (!it.hasNext()) {
+            // Обычный случай — одна роль, без лишних аллокаций
+            return first;
+        }
+
+        StringBuilder roles = new StringBuilder(first);
+        while (it.hasNext()) {
+            roles.append(", ").append(it.next().getAuthority());
+        }
+        return roles.toString();
+    }
+
+    // Supplier не подходит: SLF4J вычисляет его сразу в addKeyValue
+    private record LazyArgs(Object[] args) {
+        @Override
+        public String toString() {
+            return Arrays.toString(args);
+        }
+    }
+
+    private record Endpoint(String name, double sampleRate) {
+        boolean sampled() {
+            return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.banking.cards.common.datasource;
+
+/**
+ * Пулы соединений, между которыми {@link PoolRoutingDataSource} распределяет транзакции.
+ */
+public enum DataSourcePool {
+
+    /** Запросы пользователей и API: переводы, пополнения, списания. */
+    OLTP,
+
+    /** Записи {@code AuditService} в собственных транзакциях. */
+    AUDIT,
+
+    /** Фоновые {@code @Scheduled}-задачи. */
+    BATCH,
+
+    /** Чтение с основной БД: readOnly-транзакции пользователя сразу после его записи. */
+    READ,
+
+    /** Транзакции {@code @Transactional(readOnly = true)}: реплики, если заданы и не отстают, иначе как {@link #READ}. */
+    REPLICA
+}
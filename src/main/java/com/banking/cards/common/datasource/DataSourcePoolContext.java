@@ -0,0 +1,44 @@
+package com.banking.cards.common.datasource;
+
+/**
+ * Пул для соединений, которые поток возьмёт дальше.
+ * <p>
+ * Области вложенные: закрытие внутренней возвращает пул внешней. Пул выбирается в момент, когда
+ * транзакция берёт соединение, поэтому область открывается снаружи транзакционного прокси.
+ * Без открытой области — {@link DataSourcePool#OLTP}.
+ */
+public final class DataSourcePoolContext implements AutoCloseable {
+
+    private static final ThreadLocal<DataSourcePool> CURRENT = new ThreadLocal<>();
+
+    private final DataSourcePool previous;
+    private boolean closed;
+
+    private DataSourcePoolContext(DataSourcePool previous) {
+        this.previous = previous;
+    }
+
+    public static DataSourcePoolContext use(DataSourcePool pool) {
+        DataSourcePoolContext context = new DataSourcePoolContext(CURRENT.get());
+        CURRENT.set(pool);
+        return context;
+    }
+
+    public static DataSourcePool current() {
+        DataSourcePool pool = CURRENT.get();
+        return pool == null ? DataSourcePool.OLTP : pool;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
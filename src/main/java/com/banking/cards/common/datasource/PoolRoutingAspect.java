@@ -0,0 +1,88 @@
+package com.banking.cards.common.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+/**
+ * Выбор пула соединений по месту вызова.
+ * <p>
+ * {@code @Scheduled}-задачи работают в пуле {@link DataSourcePool#BATCH}, {@code AuditService} —
+ * в {@link DataSourcePool#AUDIT}, поэтому ночная выгрузка или всплеск аудита не занимают соединения
+ * переводов. Транзакции {@code readOnly = true} идут на реплики ({@link DataSourcePool#REPLICA}), а в течение
+ * короткого окна после записи того же пользователя — на основную БД ({@link DataSourcePool#READ}).
+ * Пишущая транзакция внутри читающей возвращается в {@link DataSourcePool#OLTP}.
+ * <p>
+ * Аспект стоит снаружи транзакционного прокси: пул должен быть выбран до того, как транзакция возьмёт соединение.
+ * Присоединившаяся к внешней транзакция продолжает работать на её соединении.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class PoolRoutingAspect {
+
+    private final TransactionAttributeSource transactionAttributeSource;
+    private final ReadYourWritesTracker readYourWrites;
+
+    @Pointcut("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+    public void scheduledJobs() {}
+
+    @Pointcut("execution(public * com.banking.cards.service.AuditService.*(..))")
+    public void auditWrites() {}
+
+    @Pointcut("within(com.banking.cards..*) && (@within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public void transactionalMethods() {}
+
+    @Around("scheduledJobs()")
+    public Object routeScheduled(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedIn(DataSourcePool.BATCH, joinPoint);
+    }
+
+    @Around("auditWrites()")
+    public Object routeAudit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedIn(DataSourcePool.AUDIT, joinPoint);
+    }
+
+    @Around("transactionalMethods() && !auditWrites()")
+    public Object routeTransactional(ProceedingJoinPoint joinPoint) throws Throwable {
+        TransactionAttribute attribute = transactionAttributeSource.getTransactionAttribute(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                AopUtils.getTargetClass(joinPoint.getTarget())
+        );
+        if (attribute == null) {
+            return joinPoint.proceed();
+        }
+        if (attribute.isReadOnly()) {
+            return proceedIn(readYourWrites.recentlyWrote() ? DataSourcePool.READ : DataSourcePool.REPLICA, joinPoint);
+        }
+        try {
+            return isReadScope(DataSourcePoolContext.current())
+                    ? proceedIn(DataSourcePool.OLTP, joinPoint)
+                    : joinPoint.proceed();
+        } finally {
+            // Отметка ставится после коммита: окно чтения с основной БД отсчитывается от него
+            readYourWrites.markWrite();
+        }
+    }
+
+    private static boolean isReadScope(DataSourcePool pool) {
+        return pool == DataSourcePool.READ || pool == DataSourcePool.REPLICA;
+    }
+
+    private static Object proceedIn(DataSourcePool pool, ProceedingJoinPoint joinPoint) throws Throwable {
+        try (DataSourcePoolContext ignored = DataSourcePoolContext.use(pool)) {
+            return joinPoint.proceed();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.banking.cards.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Основной {@link DataSource} приложения: отдаёт соединение из пула {@link DataSourcePoolContext#current()}.
+ * Для {@link DataSourcePool#REPLICA} берётся неотстающая реплика из {@link ReplicaSet}, а без неё — пул
+ * {@link DataSourcePool#READ}.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaSet replicas;
+
+    public PoolRoutingDataSource(Map<DataSourcePool, DataSource> pools, ReplicaSet replicas) {
+        this.replicas = replicas;
+        setTargetDataSources(Map.copyOf(pools));
+        setDefaultTargetDataSource(pools.get(DataSourcePool.OLTP));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourcePool pool = DataSourcePoolContext.current();
+        return pool == DataSourcePool.REPLICA ? DataSourcePool.READ : pool;
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        if (DataSourcePoolContext.current() == DataSourcePool.REPLICA) {
+            return replicas.pick().orElseGet(super::determineTargetDataSource);
+        }
+        return super.determineTargetDataSource();
+    }
+}
@@ -0,0 +1,127 @@
+package com.banking.cards.common.datasource;
+
+import com.banking.cards.config.DataSourcePoolsProperties;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Отметки о недавних записях пользователей: после своей записи пользователь {@code read-your-writes-window}
+ * читает с основной БД, а не с реплики, и видит свой перевод в балансе сразу.
+ * <p>
+ * Отметка живёт на клиенте: ответ на пишущий запрос ставит cookie {@value #COOKIE} со временем записи,
+ * и следующий запрос читает с основной БД на любом узле за балансировщиком. Клиенты без хранения cookie
+ * могут вернуть то же значение заголовком {@value #HEADER}. Запросы без отметки, пришедшие на узел,
+ * который выполнял запись, тоже читают с основной БД по отметке в памяти узла.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesTracker {
+
+    public static final String COOKIE = "cards_last_write";
+    public static final String HEADER = "X-Last-Write";
+
+    // Ответ одного запроса получает одну cookie, сколько бы пишущих транзакций в нём ни было
+    private static final String MARKED = ReadYourWritesTracker.class.getName() + ".MARKED";
+
+    private final DataSourcePoolsProperties properties;
+    // пользователь -> до какого момента читать с основной БД, мс
+    private final ConcurrentMap<String, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public void markWrite() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        primaryUntil.put(user, now + properties.getReadYourWritesWindow());
+
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null || attributes.getResponse() == null || attributes.getRequest().getAttribute(MARKED) != null) {
+            return;
+        }
+        attributes.getRequest().setAttribute(MARKED, Boolean.TRUE);
+        attributes.getResponse().addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(now))
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Strict")
+                .maxAge(Duration.ofMillis(properties.getReadYourWritesWindow()))
+                .build()
+                .toString());
+        attributes.getResponse().setHeader(HEADER, Long.toString(now));
+    }
+
+    public boolean recentlyWrote() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Long until = primaryUntil.get(user);
+        return (until != null && until > now) || withinWindow(requestMarker(), now);
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replica-lag-check-interval:5000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        primaryUntil.values().removeIf(until -> until <= now);
+    }
+
+    // Отметка из будущего (расхождение часов узлов) принимается в пределах того же окна
+    private boolean withinWindow(Long writtenAt, long now) {
+        long window = properties.getReadYourWritesWindow();
+        return writtenAt != null && writtenAt > now - window && writtenAt < now + window;
+    }
+
+    private static Long requestMarker() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String value = request.getHeader(HEADER);
+        if (value == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    value = cookie.getValue();
+                    break;
+                }
+            }
+        }
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes
+                : null;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
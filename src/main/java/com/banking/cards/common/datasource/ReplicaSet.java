@@ -0,0 +1,161 @@
+package com.banking.cards.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Реплики для читающих транзакций и их отставание от основной БД.
+ * <p>
+ * При каждом замере сначала читается текущая позиция WAL основной БД ({@code pg_current_wal_lsn()}).
+ * Реплика, применившая WAL до этой позиции, не отстаёт, даже если записей давно не было; иначе отставание —
+ * время с последней применённой на ней транзакции. Сравнение с основной БД, а не с полученным репликой WAL,
+ * нужно из-за обрыва репликации: реплика применила всё, что успела получить, но отстаёт всё сильнее.
+ * Чтения получают по кругу только реплики с отставанием не больше {@code max-replica-lag}. До первого замера,
+ * при ошибке замера (в том числе основной БД) и когда отстают все — чтение идёт с основной БД.
+ * <p>
+ * Пулы реплик не бины, поэтому метрики Hikari и отставания ({@code cards.db.replica.lag}) подключаются
+ * в {@link #bindTo}: Spring Boot вызывает его для всех {@link MeterBinder} до первого чтения с реплик.
+ * По той же причине пулы закрывает {@link #close}: Spring вызывает его при остановке контекста.
+ */
+@Slf4j
+public class ReplicaSet implements MeterBinder, AutoCloseable {
+
+    static final String LAG = "cards.db.replica.lag";
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, -1)
+                   END
+            """;
+
+    // Пул основной БД, с которым сравниваются реплики
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(DataSource primary, List<Replica> replicas, long maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            if (replica.pool.getMetricsTrackerFactory() == null) {
+                replica.pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            Gauge.builder(LAG, replica, Replica::lag)
+                    .description("Replica lag behind the primary, ms; -1 when unavailable")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Следующая по кругу реплика с допустимым отставанием.
+     */
+    public Optional<DataSource> pick() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            long lag = replica.lag();
+            if (lag >= 0 && lag <= maxLag) {
+                return Optional.of(replica.dataSource());
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replica-lag-check-interval:5000}")
+    public void checkLag() {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        String primaryLsn;
+        try {
+            primaryLsn = new JdbcTemplate(primary).queryForObject(PRIMARY_LSN_QUERY, String.class);
+        } catch (RuntimeException e) {
+            log.warn("Cannot read the primary WAL position, reads go to the primary: {}", e.getMessage());
+            replicas.forEach(replica -> replica.lag(-1));
+            return;
+        }
+        for (Replica replica : replicas) {
+            long previous = replica.lag();
+            long lag;
+            try {
+                Double measured = new JdbcTemplate(replica.dataSource()).queryForObject(LAG_QUERY, Double.class, primaryLsn);
+                lag = measured == null ? -1 : measured.longValue();
+            } catch (RuntimeException e) {
+                replica.lag(-1);
+                if (previous != -1) {
+                    log.warn("Replica {} is unavailable, reads go to the primary: {}", replica.name(), e.getMessage());
+                }
+                continue;
+            }
+            replica.lag(lag);
+            if (lag < 0) {
+                if (previous != -1) {
+                    log.warn("Replica {} has not replayed any transaction, reads go to the primary", replica.name());
+                }
+            } else if (lag > maxLag && previous <= maxLag) {
+                log.warn("Replica {} lags {} ms behind the primary, reads go elsewhere", replica.name(), lag);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        // Пул или обёртка над ним для учёта запросов
+        private final DataSource dataSource;
+        // -1 — ещё не измерено или недоступна
+        private volatile long lag = -1;
+
+        public Replica(String name, HikariDataSource pool, DataSource dataSource) {
+            this.name = name;
+            this.pool = pool;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        long lag() {
+            return lag;
+        }
+
+        void lag(long lag) {
+            this.lag = lag;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.banking.cards.common.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource, засекающий каждое выполнение выражения ({@code execute*}) и передающий его в {@link QueryStats}.
+ * <p>
+ * Считает всё, что идёт через пул: Hibernate, JdbcTemplate и Liquibase. Пачка {@code executeBatch}
+ * считается одним выражением — это один round trip. Текст SQL не логируется.
+ */
+public class InspectingDataSource extends DelegatingDataSource {
+
+    public InspectingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return inspect(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return inspect(super.getConnection(username, password));
+    }
+
+    private static Connection inspect(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, InspectingDataSource::timeExecution);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, InspectingDataSource::timeExecution);
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, InspectingDataSource::timeExecution);
+            }
+            return result;
+        });
+    }
+
+    private static Object timeExecution(Object target, Method method, Object[] args) throws Throwable {
+        if (!method.getName().startsWith("execute")) {
+            return invoke(target, method, args);
+        }
+        long started = System.nanoTime();
+        try {
+            return invoke(target, method, args);
+        } finally {
+            QueryStats.record(System.nanoTime() - started);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        // equals/hashCode по идентичности прокси: Hibernate держит выражения в HashMap
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.invoke(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(InspectingDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
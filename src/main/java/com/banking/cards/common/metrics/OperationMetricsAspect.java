@@ -0,0 +1,104 @@
+package com.banking.cards.common.metrics;
+
+import com.banking.cards.common.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Таймеры денежных операций и записи аудита.
+ * <p>
+ * Аспект стоит снаружи транзакционного прокси, поэтому в замер входит коммит, а конфликт версий,
+ * который Hibernate обнаруживает только при flush на коммите, попадает в исход {@code optimistic_lock}.
+ * Число вызовов по исходам — счётчик того же таймера.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class OperationMetricsAspect {
+
+    static final String OPERATIONS = "cards.operations";
+    static final String AUDIT = "cards.audit.log";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Pointcut("execution(public * com.banking.cards.service.user.UserCardOperationService.*(..))")
+    public void moneyOperations() {}
+
+    @Pointcut("execution(public * com.banking.cards.service.AuditService.log*(..))")
+    public void auditWrites() {}
+
+    @Around("moneyOperations()")
+    public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(OPERATIONS, "Money operations including commit", joinPoint);
+    }
+
+    @Around("auditWrites()")
+    public Object timeAudit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(AUDIT, "Audit writes in their own transaction", joinPoint);
+    }
+
+    private Object time(String name, String description, ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        long started = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            timer(name, description, method, outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof OptimisticLockingFailureException || e instanceof OptimisticLockException) {
+            return "optimistic_lock";
+        }
+        if (e instanceof ConcurrencyFailureException || e instanceof PessimisticLockException
+                || e instanceof LockTimeoutException) {
+            return "lock_conflict";
+        }
+        if (e instanceof IllegalStateException) {
+            if (Constants.INSUFFICIENT_FUNDS.equals(e.getMessage())) {
+                return "insufficient_funds";
+            }
+            if (Constants.CARD_NOT_ACTIVE.equals(e.getMessage())) {
+                return "inactive_card";
+            }
+        }
+        if (e instanceof EntityNotFoundException) {
+            return "not_found";
+        }
+        return "error";
+    }
+
+    private Timer timer(String name, String description, String method, String outcome) {
+        return timers.computeIfAbsent(name + ':' + method + ':' + outcome, key ->
+                Timer.builder(name)
+                        .description(description)
+                        .tag("method", method)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,107 @@
+package com.banking.cards.common.metrics;
+
+import com.banking.cards.config.QueryBudgetProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Считает SQL-выражения и время в БД за HTTP-запрос и сверяет их с бюджетом эндпоинта.
+ * <p>
+ * Эндпоинт — метод и шаблон пути из {@link HandlerMapping#BEST_MATCHING_PATTERN_ATTRIBUTE},
+ * поэтому число серий метрик ограничено числом маршрутов. Запросы, не дошедшие до контроллера, не учитываются.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        QueryStats stats = QueryStats.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                endpoints.computeIfAbsent(request.getMethod() + " " + pattern, this::resolveEndpoint).record(stats);
+            }
+        }
+    }
+
+    private Endpoint resolveEndpoint(String name) {
+        QueryBudgetProperties.Budget defaults = properties.getDefaults();
+        QueryBudgetProperties.Budget own = properties.getEndpoints().getOrDefault(name, defaults);
+        int statements = own.getStatements() != null ? own.getStatements() : defaults.getStatements();
+        long dbTime = own.getDbTime() != null ? own.getDbTime() : defaults.getDbTime();
+
+        String[] parts = name.split(" ", 2);
+        String method = parts[0];
+        String uri = parts[1];
+        return new Endpoint(
+                name,
+                statements,
+                TimeUnit.MILLISECONDS.toNanos(dbTime),
+                DistributionSummary.builder("cards.http.db.statements")
+                        .description("SQL statements per HTTP request")
+                        .tags("method", method, "uri", uri)
+                        .register(meterRegistry),
+                Timer.builder("cards.http.db.time")
+                        .description("Time spent executing SQL per HTTP request")
+                        .tags("method", method, "uri", uri)
+                        .register(meterRegistry),
+                Counter.builder("cards.http.db.budget.exceeded")
+                        .description("HTTP requests over their query budget")
+                        .tags("method", method, "uri", uri)
+                        .register(meterRegistry)
+        );
+    }
+
+    private record Endpoint(
+            String name,
+            int statementBudget,
+            long dbTimeBudgetNanos,
+            DistributionSummary statements,
+            Timer dbTime,
+            Counter exceeded
+    ) {
+        void record(QueryStats stats) {
+            statements.record(stats.statements());
+            dbTime.record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+            if (stats.statements() > statementBudget || stats.nanos() > dbTimeBudgetNanos) {
+                exceeded.increment();
+                log.warn("Query budget exceeded: endpoint={} statements={}/{} dbTime={}ms/{}ms",
+                        name,
+                        stats.statements(),
+                        statementBudget,
+                        TimeUnit.NANOSECONDS.toMillis(stats.nanos()),
+                        TimeUnit.NANOSECONDS.toMillis(dbTimeBudgetNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.banking.cards.common.metrics;
+
+/**
+ * Счётчик SQL-выражений и времени в БД для текущего потока.
+ * <p>
+ * Области вложенные: при закрытии внутренней области её итоги добавляются к внешней, поэтому тест
+ * может обернуть запрос MockMvc, внутри которого свою область открывает {@link QueryBudgetFilter}.
+ * Без открытой области {@link #record} ничего не делает.
+ */
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private int statements;
+    private long nanos;
+    private boolean closed;
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    public static QueryStats open() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void record(long elapsedNanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent == null) {
+            CURRENT.remove();
+            return;
+        }
+        parent.statements += statements;
+        parent.nanos += nanos;
+        CURRENT.set(parent);
+    }
+}
@@ -0,0 +1,95 @@
+package com.banking.cards.common.tracing;
+
+import com.banking.cards.config.TracingProperties;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Спаны по слоям: контроллер, сервис, репозиторий.
+ * <p>
+ * Спан открывается только внутри уже выбранного сэмплером трейса (HTTP-запрос, {@code @Scheduled}-задача),
+ * поэтому вне трейса и в несэмплированных запросах аспект почти ничего не стоит. Стоит снаружи
+ * транзакционного прокси: в спан сервиса входит коммит, а {@code AuditService.log} с REQUIRES_NEW
+ * виден отдельным спаном со своим коммитом.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class LayerTracingAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.banking.cards.repository";
+
+    private final Tracer tracer;
+    private final TracingProperties properties;
+    private final ConcurrentMap<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Pointcut("within(@org.springframework.web.bind.annotation.RestController *)")
+    public void controllers() {}
+
+    @Pointcut("execution(public * com.banking.cards.service..*(..))")
+    public void services() {}
+
+    @Pointcut("execution(* com.banking.cards.repository..*(..))")
+    public void repositories() {}
+
+    @Around("controllers()")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("controller", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("services()")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("service", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("repositories()")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Унаследованные методы (save, findById) объявлены в CrudRepository — берём интерфейс приложения
+        String name = repositoryNames.computeIfAbsent(
+                joinPoint.getThis().getClass(),
+                proxyClass -> repositoryName(proxyClass, joinPoint.getSignature().getDeclaringType())
+        );
+        return trace("repository", name, joinPoint);
+    }
+
+    private Object trace(String layer, String type, ProceedingJoinPoint joinPoint) throws Throwable {
+        Span parent = tracer.currentSpan();
+        if (!properties.isLayers() || parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return joinPoint.proceed();
+        }
+
+        Span span = tracer.nextSpan()
+                .name(type + "." + joinPoint.getSignature().getName())
+                .tag("layer", layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static String repositoryName(Class<?> proxyClass, Class<?> declaringType) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getPackageName().startsWith(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return declaringType.getSimpleName();
+    }
+}
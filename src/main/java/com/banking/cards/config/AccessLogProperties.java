@@ -0,0 +1,23 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "application.access-log")
+@Getter
+@Setter
+public class AccessLogProperties {
+    private boolean enabled = true;
+    // Доля логируемых вызовов по умолчанию, от 0 до 1
+    private double sampleRate = 1.0;
+    // Логировать ли аргументы контроллера (DTO рендерятся через маскирование)
+    private boolean includeArgs = true;
+    // Переопределение доли для конкретных эндпоинтов: "ИмяКонтроллера.метод" -> доля
+    private Map<String, Double> endpoints = new HashMap<>();
+}
@@ -13,4 +13,8 @@ import org.springframework.stereotype.Component;
 public class AdminProperties {
     private String username;
     private String password;
+    // Готовый BCrypt-хеш пароля; если задан, password при старте не хешируется
+    private String passwordHash;
+    // Создавать администратора после старта узла; в prod это делает запуск с --migrate
+    private boolean seedOnStart = true;
 }
@@ -0,0 +1,24 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.archive")
+@Getter
+@Setter
+public class ArchiveProperties {
+    private boolean enabled = false;
+    // Корневой каталог сегментов
+    private String path = "archive";
+    // Строки старше стольких дней уходят из БД в архив
+    private int cutoffDays = 90;
+    // Строк за одну транзакцию выгрузки и удаления
+    private int batchSize = 5000;
+    // Доля ложноположительных ответов Bloom-фильтра в индексе сегмента
+    private double bloomFalsePositiveRate = 0.01;
+    // Максимум записей в ответе поиска по архиву
+    private int searchLimit = 1000;
+}
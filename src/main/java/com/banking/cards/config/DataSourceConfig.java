@@ -0,0 +1,118 @@
+package com.banking.cards.config;
+
+import com.banking.cards.common.datasource.DataSourcePool;
+import com.banking.cards.common.datasource.PoolRoutingDataSource;
+import com.banking.cards.common.datasource.ReplicaSet;
+import com.banking.cards.common.metrics.InspectingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Отдельные пулы Hikari для запросов, аудита, фоновых задач и чтения.
+ * <p>
+ * Все пулы ходят в одну БД ({@code spring.datasource.url}), различаются размером и таймаутами.
+ * Основной {@link DataSource} — {@link PoolRoutingDataSource}: JPA, JdbcTemplate и Liquibase работают
+ * с ним, а пул выбирает {@code PoolRoutingAspect}. Пулы — отдельные бины, поэтому метрики
+ * {@code hikaricp.connections.*} публикуются по каждому с тегом {@code pool}.
+ * <p>
+ * Для заданных {@code application.datasource.replicas} создаются пулы {@code replica-N} с настройками
+ * пула read. Бинами они не являются: учёт запросов подключается здесь, метрики и закрытие пулов — в {@link ReplicaSet}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties properties) {
+        return pool(properties, "oltp");
+    }
+
+    @Bean
+    @ConfigurationProperties("application.datasource.pools.audit")
+    public HikariDataSource auditDataSource(DataSourceProperties properties) {
+        return pool(properties, "audit");
+    }
+
+    @Bean
+    @ConfigurationProperties("application.datasource.pools.batch")
+    public HikariDataSource batchDataSource(DataSourceProperties properties) {
+        return pool(properties, "batch");
+    }
+
+    @Bean
+    @ConfigurationProperties("application.datasource.pools.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        return pool(properties, "read");
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(
+            @Qualifier("batchDataSource") DataSource batch,
+            DataSourceProperties dataSourceProperties,
+            DataSourcePoolsProperties properties,
+            QueryBudgetProperties queryBudgetProperties,
+            Environment environment
+    ) {
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        if (properties.isReadOnlyRouting()) {
+            Binder binder = Binder.get(environment);
+            for (DataSourcePoolsProperties.Replica replica : properties.getReplicas()) {
+                String name = "replica-" + (replicas.size() + 1);
+                HikariDataSource pool = pool(dataSourceProperties, name);
+                binder.bind("application.datasource.pools.read", Bindable.ofInstance(pool));
+                pool.setPoolName(name);
+                pool.setJdbcUrl(replica.getUrl());
+                if (StringUtils.hasText(replica.getUsername())) {
+                    pool.setUsername(replica.getUsername());
+                    pool.setPassword(replica.getPassword());
+                }
+                replicas.add(new ReplicaSet.Replica(name, pool,
+                        queryBudgetProperties.isEnabled() ? new InspectingDataSource(pool) : pool));
+            }
+        }
+        // Позиция WAL основной БД для замера отставания читается через пул фоновых задач
+        return new ReplicaSet(batch, replicas, properties.getMaxReplicaLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("oltpDataSource") DataSource oltp,
+            @Qualifier("auditDataSource") DataSource audit,
+            @Qualifier("batchDataSource") DataSource batch,
+            @Qualifier("readDataSource") DataSource read,
+            ReplicaSet replicaSet,
+            DataSourcePoolsProperties properties
+    ) {
+        Map<DataSourcePool, DataSource> pools = new EnumMap<>(DataSourcePool.class);
+        pools.put(DataSourcePool.OLTP, oltp);
+        pools.put(DataSourcePool.AUDIT, audit);
+        pools.put(DataSourcePool.BATCH, batch);
+        pools.put(DataSourcePool.READ, properties.isReadOnlyRouting() ? read : oltp);
+        return new PoolRoutingDataSource(pools, replicaSet);
+    }
+
+    // Hikari без конфигурации в конструкторе запускает пул при первом getConnection: неиспользуемый пул соединений не держит
+    private static HikariDataSource pool(DataSourceProperties properties, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,39 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Распределение транзакций по пулам. Настройки Hikari каждого пула: OLTP — {@code spring.datasource.hikari.*},
+ * остальные — {@code application.datasource.pools.<audit|batch|read>.*}; пулы реплик берут настройки read.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.datasource")
+@Getter
+@Setter
+public class DataSourcePoolsProperties {
+    // Транзакции readOnly = true — в пул read или на реплики; false — в OLTP, как пишущие
+    private boolean readOnlyRouting = true;
+    // Реплики для readOnly-транзакций; пусто — чтение из пула read основной БД
+    private List<Replica> replicas = new ArrayList<>();
+    // Реплика, отставшая больше чем на столько, не получает чтений, пока не догонит, мс
+    private long maxReplicaLag = 5000;
+    // Как часто измерять отставание реплик, мс
+    private long replicaLagCheckInterval = 5000;
+    // Сколько после своей записи пользователь читает с основной БД, мс
+    private long readYourWritesWindow = 10000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        // Пусто — как у основной БД
+        private String username;
+        private String password;
+    }
+}
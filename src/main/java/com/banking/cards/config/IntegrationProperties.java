@@ -0,0 +1,29 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "application.security.integration")
+@Getter
+@Setter
+public class IntegrationProperties {
+    // Время жизни интеграционного токена, мс
+    private long tokenExpiration = 3600000;
+    // За сколько до истечения кэшированный токен перевыпускается, мс
+    private long tokenRefreshBefore = 300000;
+    private List<Client> clients = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Client {
+        private String name;
+        // SHA-256 от API-ключа в hex, сам ключ в конфигурации не хранится
+        private String apiKeyHash;
+    }
+}
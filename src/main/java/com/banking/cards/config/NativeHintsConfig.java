@@ -0,0 +1,97 @@
+package com.banking.cards.config;
+
+import com.banking.cards.common.MaskedBalanceValue;
+import com.banking.cards.common.MaskedCardNumber;
+import com.banking.cards.common.MaskedValue;
+import com.banking.cards.dto.response.AdminCardDto;
+import com.banking.cards.dto.response.ApiErrorResponse;
+import com.banking.cards.dto.response.CardDto;
+import com.banking.cards.dto.response.CardOperationDto;
+import com.banking.cards.dto.response.PageResponse;
+import com.banking.cards.dto.response.ScheduledTransferDto;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Подсказки для native image: то, что Spring AOT не выводит из кода сам.
+ * <p>
+ * Элементы {@link PageResponse} стираются до Object, поэтому DTO в страницах регистрируются явно.
+ * В остальном — классы, которые библиотеки загружают по имени, ресурсы миграций и JDK-прокси
+ * {@code InspectingDataSource}. Для JVM-сборки ничего не меняет.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+@RegisterReflectionForBinding({
+        PageResponse.class,
+        CardDto.class,
+        AdminCardDto.class,
+        CardOperationDto.class,
+        ScheduledTransferDto.class,
+        ApiErrorResponse.class
+})
+public class NativeHintsConfig {
+
+    // jjwt 0.11 создаёт реализации и ищет (де)сериализатор по имени класса
+    private static final String[] JJWT_CLASSES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String className : JJWT_CLASSES) {
+                hints.reflection().registerType(
+                        TypeReference.of(className),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS
+                );
+            }
+
+            // Маскированные значения сериализуются через приватный @JsonValue getValue()
+            for (Class<?> type : new Class<?>[]{MaskedValue.class, MaskedCardNumber.class, MaskedBalanceValue.class}) {
+                hints.reflection().registerType(
+                        type,
+                        MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.DECLARED_FIELDS
+                );
+            }
+
+            // Индекс архивного сегмента читается и пишется Jackson'ом
+            hints.reflection().registerType(
+                    TypeReference.of("com.banking.cards.service.ArchiveSegmentStore$SegmentIndex"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS
+            );
+
+            hints.resources().registerPattern("db.migration/*.xml");
+            hints.resources().registerPattern("db.migration/*/*.xml");
+
+            hints.proxies().registerJdkProxy(Connection.class);
+            hints.proxies().registerJdkProxy(Statement.class);
+            hints.proxies().registerJdkProxy(PreparedStatement.class);
+            hints.proxies().registerJdkProxy(CallableStatement.class);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "application.partitions")
+@Getter
+@Setter
+public class PartitionProperties {
+    // На сколько месяцев вперёд держать готовые партиции
+    private int monthsAhead = 3;
+    // Глубина истории операций карты, которую видит пользователь, месяцев; 0 — вся история
+    private int historyMonths = 0;
+    // Таблицы, партиционированные по месяцам created_at
+    private List<Table> tables = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Table {
+        private String name;
+        // Сколько полных месяцев хранить; 0 — хранить всё
+        private int retentionMonths;
+        private RetentionAction retentionAction = RetentionAction.DETACH;
+    }
+
+    public enum RetentionAction {
+        DETACH,     // Отсоединить партицию, оставив её обычной таблицей (для архивации)
+        DROP        // Удалить партицию вместе с данными
+    }
+}
@@ -0,0 +1,38 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "application.query-budget")
+@Getter
+@Setter
+public class QueryBudgetProperties {
+    private boolean enabled = true;
+    // Бюджет эндпоинта без своей настройки
+    private Budget defaults = new Budget(25, 500L);
+    // "МЕТОД /шаблон/пути" -> бюджет; незаданные поля берутся из defaults
+    private Map<String, Budget> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        // SQL-выражений на запрос
+        private Integer statements;
+        // Суммарное время выполнения выражений на запрос, мс
+        private Long dbTime;
+
+        public Budget() {
+        }
+
+        public Budget(Integer statements, Long dbTime) {
+            this.statements = statements;
+            this.dbTime = dbTime;
+        }
+    }
+}
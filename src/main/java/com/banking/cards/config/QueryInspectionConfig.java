@@ -0,0 +1,52 @@
+package com.banking.cards.config;
+
+import com.banking.cards.common.metrics.InspectingDataSource;
+import com.banking.cards.common.metrics.QueryBudgetFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Учёт SQL по HTTP-запросам вместо {@code show-sql}: пул оборачивается в {@link InspectingDataSource},
+ * а {@link QueryBudgetFilter} сводит счётчики по эндпоинтам.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.query-budget", name = "enabled", matchIfMissing = true)
+public class QueryInspectionConfig {
+
+    // static: постпроцессор создаётся до остальных бинов конфигурации
+    @Bean
+    public static BeanPostProcessor inspectingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Оборачиваются только пулы: маршрутизатор отдаёт их соединения, и выражение посчиталось бы дважды
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof InspectingDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return new InspectingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            QueryBudgetProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties, meterRegistry));
+        // Снаружи security-цепочки: проверка отзыва токена тоже ходит в БД
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
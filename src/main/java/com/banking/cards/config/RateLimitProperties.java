@@ -0,0 +1,28 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "application.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // роль (без префикса ROLE_, в нижнем регистре) -> категория эндпоинтов -> лимит
+    private Map<String, Map<String, Limit>> limits = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        // Сколько запросов можно сделать подряд
+        private int capacity;
+        // Скорость пополнения, запросов в секунду
+        private double requestsPerSecond;
+    }
+}
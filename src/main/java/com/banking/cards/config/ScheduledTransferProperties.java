@@ -0,0 +1,24 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.scheduled-transfers")
+@Getter
+@Setter
+public class ScheduledTransferProperties {
+    private boolean enabled = true;
+    // Переводов, захватываемых узлом за один опрос
+    private int batchSize = 100;
+    // Окно, по которому размазываются переводы, назначенные на одно и то же время, мс
+    private long spreadWindow = 900000;
+    // Сколько захваченный перевод принадлежит узлу, потом его может забрать другой, мс
+    private long lease = 300000;
+    // Попыток при сбоях инфраструктуры, после чего перевод помечается FAILED
+    private int maxAttempts = 5;
+    // Пауза перед повтором после сбоя, растёт линейно с номером попытки, мс
+    private long retryBackoff = 60000;
+}
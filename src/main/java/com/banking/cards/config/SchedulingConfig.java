@@ -0,0 +1,15 @@
+package com.banking.cards.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи ({@code @Scheduled}). Выключаются в режиме миграций ({@code --migrate}):
+ * контекст там живёт только до применения changelog'а.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "application.scheduling", name = "enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
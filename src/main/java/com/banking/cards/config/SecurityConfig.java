@@ -4,6 +4,10 @@ import com.banking.cards.exceptions.RestAccessDeniedHandler;
 import com.banking.cards.exceptions.RestAuthEntryPoint;
 import com.banking.cards.security.JwtAuthenticationFilter;
 import com.banking.cards.security.JwtService;
+import com.banking.cards.security.RateLimitFilter;
+import com.banking.cards.security.RateLimiter;
+import com.banking.cards.security.TokenRevocationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,14 +26,23 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
 
-    public SecurityConfig(JwtService jwtService) {
+    public SecurityConfig(JwtService jwtService,
+                          TokenRevocationService revocationService,
+                          RateLimiter rateLimiter,
+                          ObjectMapper objectMapper) {
         this.jwtService = jwtService;
+        this.revocationService = revocationService;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService);
+        return new JwtAuthenticationFilter(jwtService, revocationService);
     }
 
     @Bean
@@ -56,11 +69,16 @@ public class SecurityConfig {
                                 "/swagger-resources/**",
                                 "/swagger-resources"
                         ).permitAll()
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // actuator доступен только на management.server.port, который наружу не публикуется;
+                        // Prometheus забирает метрики с него без токена
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 );
 
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Не бин: иначе Boot зарегистрирует фильтр ещё и в servlet-цепочке, до аутентификации
+        http.addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,24 @@
+package com.banking.cards.config;
+
+import com.banking.cards.common.tracing.FileSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Экспортёры спанов сверх OTLP. OTLP включается самим Spring Boot при заданном
+ * {@code management.otlp.tracing.endpoint}; все SpanExporter-бины работают одновременно.
+ */
+@Configuration
+public class TracingConfig {
+
+    // Закрывает SDK при остановке, после сброса последней пачки; выводимый Spring shutdown закрыл бы файл раньше
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(prefix = "application.tracing.file", name = "enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(TracingProperties properties, ObjectMapper objectMapper) {
+        return new FileSpanExporter(Paths.get(properties.getFile().getPath()), objectMapper);
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.cards.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.tracing")
+@Getter
+@Setter
+public class TracingProperties {
+    // Дочерние спаны контроллеров, сервисов и репозиториев внутри HTTP-запроса или задачи
+    private boolean layers = true;
+    private File file = new File();
+
+    @Getter
+    @Setter
+    public static class File {
+        // Писать завершённые спаны в файл, по одному JSON на строку (для локального разбора)
+        private boolean enabled = false;
+        private String path = "traces/spans.jsonl";
+    }
+}
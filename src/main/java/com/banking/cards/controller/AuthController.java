@@ -1,12 +1,15 @@
 package com.banking.cards.controller;
 
 import com.banking.cards.dto.request.LoginRequest;
+import com.banking.cards.dto.request.RefreshTokenRequest;
 import com.banking.cards.dto.request.SideServiceRequest;
 import com.banking.cards.dto.response.ApiErrorResponse;
 import com.banking.cards.dto.response.JwtResponse;
 import com.banking.cards.dto.response.RegisterResponse;
 import com.banking.cards.security.JwtService;
 import com.banking.cards.security.SecurityUser;
+import com.banking.cards.security.TokenRevocationService;
+import com.banking.cards.service.RefreshTokenService;
 import com.banking.cards.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,12 +20,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -39,6 +44,8 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtUtil;
     private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService revocationService;
 
     // ===== REGISTRATION =====
 
@@ -123,7 +130,8 @@ public class AuthController {
                             schema = @Schema(implementation = JwtResponse.class),
                             examples = @ExampleObject(value = """
                                     {
-                                      "token": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
+                                      "token": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...",
+                                      "refreshToken": "q3Vb0kM8nR2xZ1d5tY7wP9sL4cF6hJ0aE3gK8mN2vB4"
                                     }
                                     """)
                     )
@@ -174,7 +182,67 @@ public class AuthController {
         SecurityUser user = (SecurityUser) authentication.getPrincipal();
         String token = jwtUtil.generateToken(user);
 
-        return new JwtResponse(token);
+        return new JwtResponse(token, refreshTokenService.issue(user.getUser()));
+    }
+
+    // ===== REFRESH =====
+
+    @Operation(
+            summary = "Обновить access-токен",
+            description = """
+                    Обменивает refresh-токен на новую пару access/refresh без повторного ввода пароля.
+                    
+                    Предъявленный refresh-токен становится недействительным.
+                    """
+    )
+    @ApiResponses({
+
+            // ===== 200 =====
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Новая пара токенов",
+                    content = @Content(
+                            schema = @Schema(implementation = JwtResponse.class)
+                    )
+            ),
+
+            // ===== 403 =====
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Refresh-токен недействителен, истёк или уже использован",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/refresh")
+    public JwtResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return refreshTokenService.refresh(request.refreshToken());
+    }
+
+    // ===== LOGOUT =====
+
+    @Operation(
+            summary = "Выход из системы",
+            description = """
+                    Отзывает refresh-токен и, если передан заголовок Authorization, текущий access-токен.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "204",
+            description = "Токены отозваны"
+    )
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(
+            @Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+    ) {
+        refreshTokenService.revoke(request.refreshToken());
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwtUtil.parseToken(authHeader.substring(7)).ifPresent(revocationService::revoke);
+        }
     }
 
     // ===== INTEGRATION TOKEN =====
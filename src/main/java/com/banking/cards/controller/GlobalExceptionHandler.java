@@ -3,14 +3,19 @@ package com.banking.cards.controller;
 import com.banking.cards.dto.response.ApiErrorResponse;
 import com.banking.cards.exceptions.BadBalanceException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.LockTimeoutException;
 import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -146,6 +151,21 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // Взаимоблокировка или таймаут блокировки строки в PostgreSQL: транзакция откатилась, операцию можно повторить
+    @ExceptionHandler({ConcurrencyFailureException.class, PessimisticLockException.class, LockTimeoutException.class})
+    public ResponseEntity<ApiErrorResponse> handleLockConflict(
+            Exception ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Lock conflict for {}: {}", request.getRequestURI(), ex.getMessage());
+
+        return buildResponse(
+                HttpStatus.CONFLICT,
+                "Concurrent update conflict, retry the operation",
+                request.getRequestURI()
+        );
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     public ResponseEntity<ApiErrorResponse> handleNoStaticResource(
             NoResourceFoundException ex,
@@ -204,6 +224,23 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // ====== 503 SERVICE UNAVAILABLE ======
+
+    // Пул Hikari — ограничитель параллельных обращений к БД: не дождались соединения за connection-timeout
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ApiErrorResponse> handleConnectionUnavailable(
+            Exception ex,
+            HttpServletRequest request
+    ) {
+        log.warn("No database connection for {}: {}", request.getRequestURI(), ex.getMessage());
+
+        return buildResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service is busy, retry later",
+                request.getRequestURI()
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGeneric(
             Exception ex,
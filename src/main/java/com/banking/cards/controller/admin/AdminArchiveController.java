@@ -0,0 +1,98 @@
+package com.banking.cards.controller.admin;
+
+import com.banking.cards.common.ArchiveTable;
+import com.banking.cards.dto.request.CardNumberRequest;
+import com.banking.cards.dto.response.ApiErrorResponse;
+import com.banking.cards.dto.response.ArchivedRecordDto;
+import com.banking.cards.service.admin.AdminArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/archive")
+@RequiredArgsConstructor
+@Tag(
+        name = "Admin Archive",
+        description = "Поиск по архиву операций и аудита, выгруженному из БД"
+)
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminArchiveController {
+
+    private final AdminArchiveService archiveService;
+
+    @Operation(
+            summary = "Найти архивные записи по карте",
+            description = """
+                    Ищет строки card_operations или audit_logs, выгруженные в архив,
+                    в которых встречается карта, за период с from по to включительно (UTC).
+
+                    Только чтение; число записей в ответе ограничено application.archive.search-limit.
+                    """
+    )
+    @ApiResponses({
+
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Найденные архивные записи",
+                    content = @Content(
+                            array = @ArraySchema(schema = @Schema(implementation = ArchivedRecordDto.class))
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректный период",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/search")
+    public List<ArchivedRecordDto> search(
+            @Valid
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Номер карты",
+                    required = true,
+                    content = @Content(
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "cardNumber": "4276550012345678"
+                                    }
+                                    """)
+                    )
+            )
+            @RequestBody CardNumberRequest cardNumberRequest,
+
+            @Parameter(description = "Архивируемая таблица", example = "CARD_OPERATIONS")
+            @RequestParam ArchiveTable table,
+
+            @Parameter(description = "Первый день периода", example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+
+            @Parameter(description = "Последний день периода", example = "2025-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return archiveService.search(table, cardNumberRequest.getCardNumber(), from, to);
+    }
+}
@@ -182,6 +182,127 @@ public class AdminCardController {
         cardAdminService.changeStatus(cardNumberRequest.getCardNumber(), status);
     }
 
+    // ===== HOT CARD MODE =====
+
+    @Operation(
+            summary = "Включить или выключить hot-режим карты",
+            description = """
+                    Для карт с очень частыми пополнениями (зарплатные, мерчантские).
+                    
+                    В hot-режиме пополнения и входящие переводы сразу пишутся в историю операций,
+                    а баланс карты обновляется фоновым агрегатором пачками. Отображаемый баланс
+                    учитывает ещё не перенесённые зачисления.
+                    """
+    )
+    @ApiResponses({
+
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Режим карты изменён"
+            ),
+
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Карта не найдена",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PatchMapping("/hot")
+    public void changeCardHotMode(
+            @Valid
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Номер карты",
+                    required = true,
+                    content = @Content(
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "cardNumber": "4276550012345678"
+                                    }
+                                    """)
+                    )
+            )
+            @RequestBody CardNumberRequest cardNumberRequest,
+
+            @Parameter(
+                    description = "true — включить hot-режим, false — выключить",
+                    example = "true"
+            )
+            @RequestParam boolean enabled
+    ) {
+        cardAdminService.changeHotMode(cardNumberRequest.getCardNumber(), enabled);
+    }
+
+    // ===== BALANCE SHARDS =====
+
+    @Operation(
+            summary = "Разложить баланс карты по шардам",
+            description = """
+                    Для карт, упирающихся в блокировку одной строки при пополнениях и списаниях.
+                    
+                    Баланс хранится в N строках, операции распределяются между ними.
+                    0 — вернуть баланс в карту. Несовместимо с hot-режимом.
+                    """
+    )
+    @ApiResponses({
+
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Режим хранения баланса изменён"
+            ),
+
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Недопустимое число шардов",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Карта не найдена",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Карта в hot-режиме",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PatchMapping("/shards")
+    public void changeCardBalanceShards(
+            @Valid
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Номер карты",
+                    required = true,
+                    content = @Content(
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "cardNumber": "4276550012345678"
+                                    }
+                                    """)
+                    )
+            )
+            @RequestBody CardNumberRequest cardNumberRequest,
+
+            @Parameter(
+                    description = "Число шардов (2-64), 0 — отключить",
+                    example = "8"
+            )
+            @RequestParam int count
+    ) {
+        cardAdminService.changeBalanceShards(cardNumberRequest.getCardNumber(), count);
+    }
+
     // ===== DELETE CARD =====
 
     @Operation(
@@ -67,7 +67,7 @@ public class CardInfoController {
     })
     @GetMapping
     public PageResponse<CardDto> getMyCards(
-            @AuthenticationPrincipal UUID userId,
+            @AuthenticationPrincipal String userId,
 
             @Parameter(description = "Номер страницы", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -75,7 +75,7 @@ public class CardInfoController {
             @Parameter(description = "Размер страницы", example = "10")
             @RequestParam(defaultValue = "10") int size
     ) {
-        return cardService.getUserCards(userId, page, size);
+        return cardService.getUserCards(UUID.fromString(userId), page, size);
     }
 
     // ===== GET ONE CARD =====
@@ -141,9 +141,9 @@ public class CardInfoController {
                     )
             )
             @RequestBody CardNumberRequest cardNumberRequest,
-            @AuthenticationPrincipal UUID userId
+            @AuthenticationPrincipal String userId
     ) {
-        return cardService.getUserCard(cardNumberRequest.getCardNumber(), userId);
+        return cardService.getUserCard(cardNumberRequest.getCardNumber(), UUID.fromString(userId));
     }
 
     // ===== CARD OPERATIONS =====
@@ -193,12 +193,12 @@ public class CardInfoController {
                     )
             )
             @RequestBody CardNumberRequest cardNumberRequest,
-            @AuthenticationPrincipal UUID userId,
+            @AuthenticationPrincipal String userId,
             @Parameter(description = "Номер страницы", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Размер страницы", example = "20")
             @RequestParam(defaultValue = "20") int size
     ) {
-        return cardService.getCardOperations(cardNumberRequest.getCardNumber(), userId, page, size);
+        return cardService.getCardOperations(cardNumberRequest.getCardNumber(), UUID.fromString(userId), page, size);
     }
 }
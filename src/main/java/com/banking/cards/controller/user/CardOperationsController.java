@@ -1,10 +1,13 @@
 package com.banking.cards.controller.user;
 
+import com.banking.cards.dto.request.CardBatchTransferRequest;
 import com.banking.cards.dto.request.CardNumberAndAmountRequest;
 import com.banking.cards.dto.request.CardTransferRequest;
 import com.banking.cards.dto.response.ApiErrorResponse;
+import com.banking.cards.service.IdempotencyService;
 import com.banking.cards.service.user.UserCardOperationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,10 +17,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -34,7 +39,13 @@ import java.util.UUID;
 @PreAuthorize("hasRole('USER')")
 public class CardOperationsController {
 
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION = """
+            Необязательный ключ идемпотентности (до 64 символов). Повтор с тем же ключом не выполняет
+            операцию заново, а возвращает сохранённый результат с заголовком Idempotent-Replayed: true.
+            """;
+
     private final UserCardOperationService userCardOperationService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(
             summary = "Пополнить карту",
@@ -86,7 +97,7 @@ public class CardOperationsController {
             )
     })
     @PostMapping("/deposit")
-    public void deposit(
+    public ResponseEntity<Void> deposit(
             @Valid
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Данные для пополнения карты",
@@ -101,9 +112,12 @@ public class CardOperationsController {
                     )
             )
             @RequestBody CardNumberAndAmountRequest request,
-            @AuthenticationPrincipal String userId
+            @AuthenticationPrincipal String userId,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        userCardOperationService.deposit(request.cardNumber(), request.amount(), UUID.fromString(userId));
+        return idempotent(idempotencyKey, userId, "deposit", request, () ->
+                userCardOperationService.deposit(request.cardNumber(), request.amount(), UUID.fromString(userId)));
     }
 
     @Operation(
@@ -156,7 +170,7 @@ public class CardOperationsController {
             )
     })
     @PostMapping("/withdraw")
-    public void withdraw(
+    public ResponseEntity<Void> withdraw(
             @Valid
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Данные для списания средств",
@@ -171,9 +185,12 @@ public class CardOperationsController {
                     )
             )
             @RequestBody CardNumberAndAmountRequest request,
-            @AuthenticationPrincipal String userId
+            @AuthenticationPrincipal String userId,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        userCardOperationService.withdraw(request.cardNumber(), request.amount(), UUID.fromString(userId));
+        return idempotent(idempotencyKey, userId, "withdraw", request, () ->
+                userCardOperationService.withdraw(request.cardNumber(), request.amount(), UUID.fromString(userId)));
     }
 
     @Operation(
@@ -218,7 +235,7 @@ public class CardOperationsController {
             )
     })
     @PostMapping("/transfer")
-    public void transfer(
+    public ResponseEntity<Void> transfer(
             @Valid
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Данные для перевода средств",
@@ -234,13 +251,101 @@ public class CardOperationsController {
                     )
             )
             @RequestBody CardTransferRequest request,
-            @AuthenticationPrincipal String userId
+            @AuthenticationPrincipal String userId,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        userCardOperationService.transfer(
-                request.fromCardId(),
-                request.toCardId(),
-                request.amount(),
-                UUID.fromString(userId)
-        );
+        return idempotent(idempotencyKey, userId, "transfer", request, () ->
+                userCardOperationService.transfer(
+                        request.fromCardId(),
+                        request.toCardId(),
+                        request.amount(),
+                        UUID.fromString(userId)
+                ));
+    }
+
+    @Operation(
+            summary = "Пакет переводов между картами",
+            description = """
+                    Выполняет до 50 переводов между картами пользователя в одной транзакции, по порядку.
+                    
+                    ❗ Условия:
+                    - все карты принадлежат пользователю и активны
+                    - если хоть один перевод не проходит, не выполняется ни один
+                    """
+    )
+    @ApiResponses({
+
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Все переводы выполнены"
+            ),
+
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректные данные пакета",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Одна из карт не найдена",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Карта неактивна или недостаточно средств",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<Void> transferBatch(
+            @Valid
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Переводы пакета",
+                    required = true,
+                    content = @Content(
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "transfers": [
+                                        { "fromCardId": "4276550012345678", "toCardId": "4276550098765432", "amount": 250.00 },
+                                        { "fromCardId": "4276550011112222", "toCardId": "4276550098765432", "amount": 100.00 }
+                                      ]
+                                    }
+                                    """)
+                    )
+            )
+            @RequestBody CardBatchTransferRequest request,
+            @AuthenticationPrincipal String userId,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotent(idempotencyKey, userId, "transfer-batch", request, () ->
+                userCardOperationService.transferBatch(request.transfers(), UUID.fromString(userId)));
+    }
+
+    private ResponseEntity<Void> idempotent(
+            String idempotencyKey,
+            String userId,
+            String operation,
+            Object request,
+            Runnable action
+    ) {
+        if (idempotencyKey == null) {
+            action.run();
+            return ResponseEntity.ok().build();
+        }
+
+        boolean replayed = idempotencyService.execute(UUID.fromString(userId), idempotencyKey, operation, request, action);
+        return replayed
+                ? ResponseEntity.ok().header(IdempotencyService.REPLAYED_HEADER, "true").build()
+                : ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,184 @@
+package com.banking.cards.controller.user;
+
+import com.banking.cards.dto.request.ScheduleTransferRequest;
+import com.banking.cards.dto.response.ApiErrorResponse;
+import com.banking.cards.dto.response.PageResponse;
+import com.banking.cards.dto.response.ScheduledTransferDto;
+import com.banking.cards.service.user.UserScheduledTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/cards/transfer/scheduled")
+@RequiredArgsConstructor
+@Tag(
+        name = "Scheduled transfers",
+        description = "Переводы между своими картами в заданное время"
+)
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('USER')")
+public class ScheduledTransferController {
+
+    private final UserScheduledTransferService scheduledTransferService;
+
+    // ===== SCHEDULE =====
+
+    @Operation(
+            summary = "Запланировать перевод",
+            description = """
+                    Сохраняет перевод между картами текущего пользователя, который выполнится не раньше executeAt.
+
+                    ❗ Фактическое время (dueAt) сдвигается на случайную величину в пределах
+                    application.scheduled-transfers.spread-window, чтобы переводы на одно время
+                    не выполнялись одной волной. Условия перевода (активные карты, достаточный баланс)
+                    проверяются ещё раз в момент выполнения.
+                    """
+    )
+    @ApiResponses({
+
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Перевод запланирован",
+                    content = @Content(
+                            schema = @Schema(implementation = ScheduledTransferDto.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректные данные или время в прошлом",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Карта не найдена",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Карта не активна",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping
+    public ScheduledTransferDto schedule(
+            @Valid
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Данные перевода и время выполнения",
+                    required = true,
+                    content = @Content(
+                            examples = @ExampleObject(value = """
+                                    {
+                                      "fromCardId": "4276550012345678",
+                                      "toCardId": "4276550098765432",
+                                      "amount": 500.00,
+                                      "executeAt": "2026-02-01T00:00:00Z"
+                                    }
+                                    """)
+                    )
+            )
+            @RequestBody ScheduleTransferRequest request,
+            @AuthenticationPrincipal String userId
+    ) {
+        return scheduledTransferService.schedule(request, UUID.fromString(userId));
+    }
+
+    // ===== LIST =====
+
+    @Operation(
+            summary = "Получить запланированные переводы",
+            description = "Возвращает переводы пользователя во всех статусах, новые по времени выполнения первыми"
+    )
+    @ApiResponses({
+
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Запланированные переводы",
+                    content = @Content(
+                            schema = @Schema(implementation = PageResponse.class)
+                    )
+            )
+    })
+    @GetMapping
+    public PageResponse<ScheduledTransferDto> getScheduledTransfers(
+            @AuthenticationPrincipal String userId,
+
+            @Parameter(description = "Номер страницы", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Размер страницы", example = "20")
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return scheduledTransferService.getScheduledTransfers(UUID.fromString(userId), page, size);
+    }
+
+    // ===== CANCEL =====
+
+    @Operation(
+            summary = "Отменить запланированный перевод",
+            description = "Отменить можно только перевод в статусе PENDING"
+    )
+    @ApiResponses({
+
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Перевод отменён"
+            ),
+
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Перевод не найден",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Перевод уже выполняется или завершён",
+                    content = @Content(
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public void cancel(
+            @Parameter(description = "Идентификатор перевода", example = "42")
+            @PathVariable Long id,
+            @AuthenticationPrincipal String userId
+    ) {
+        scheduledTransferService.cancel(id, UUID.fromString(userId));
+    }
+}
@@ -0,0 +1,16 @@
+package com.banking.cards.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Пакет переводов между картами, выполняемых одной транзакцией")
+public record CardBatchTransferRequest(
+        @Schema(description = "Переводы в порядке выполнения")
+        @NotEmpty(message = "Transfers are required")
+        @Size(max = 50, message = "No more than 50 transfers per batch")
+        List<@Valid CardTransferRequest> transfers
+) {}
@@ -0,0 +1,15 @@
+package com.banking.cards.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(
+        description = "Запрос на обновление или отзыв refresh-токена"
+)
+public record RefreshTokenRequest(
+        @Schema(
+                description = "Refresh-токен, полученный при входе",
+                example = "q3Vb0kM8nR2xZ1d5tY7wP9sL4cF6hJ0aE3gK8mN2vB4"
+        )
+        @NotBlank(message = "must not be blank") String refreshToken
+) {}
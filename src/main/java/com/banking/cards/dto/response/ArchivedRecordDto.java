@@ -0,0 +1,16 @@
+package com.banking.cards.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Строка из архива операций или аудита")
+public record ArchivedRecordDto(
+        @Schema(example = "10452")
+        long id,
+        @Schema(example = "2025-03-14T09:12:44Z")
+        Instant createdAt,
+        @Schema(description = "Остальные колонки строки, номера карт маскируются")
+        Map<String, String> values
+) {}
@@ -1,5 +1,6 @@
 package com.banking.cards.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(
@@ -10,5 +11,16 @@ public record JwtResponse(
                 description = "JWT токен (Bearer)",
                 example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
         )
-        String token
-) {}
\ No newline at end of file
+        String token,
+
+        @Schema(
+                description = "Refresh-токен для получения нового access-токена (только для пользователей)",
+                example = "q3Vb0kM8nR2xZ1d5tY7wP9sL4cF6hJ0aE3gK8mN2vB4"
+        )
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String refreshToken
+) {
+    public JwtResponse(String token) {
+        this(token, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.banking.cards.dto.response;
+
+import com.banking.cards.common.MaskedCardNumber;
+import com.banking.cards.common.ScheduledTransferStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record ScheduledTransferDto(
+        @Schema(example = "42")
+        Long id,
+        MaskedCardNumber fromCard,
+        MaskedCardNumber toCard,
+        @Schema(example = "500.00")
+        BigDecimal amount,
+        @Schema(description = "Запрошенное время", example = "2026-02-01T00:00:00Z")
+        Instant executeAt,
+        @Schema(description = "Фактический срок с учётом разброса", example = "2026-02-01T00:07:31Z")
+        Instant dueAt,
+        @Schema(example = "PENDING")
+        ScheduledTransferStatus status,
+        @Schema(description = "Причина отказа для FAILED", example = "Insufficient funds")
+        String lastError,
+        @Schema(example = "2026-02-01T00:07:32Z")
+        Instant executedAt
+) {}
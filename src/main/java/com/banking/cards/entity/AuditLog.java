@@ -9,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,8 +28,10 @@ import java.time.Instant;
 @Builder
 public class AuditLog {
 
+    // Шаг sequence 50 (V-1.14): id выделяются блоками, INSERT'ы идут JDBC-пачками
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_id")
+    @SequenceGenerator(name = "audit_logs_id", sequenceName = "audit_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "actor_user_id", nullable = false)
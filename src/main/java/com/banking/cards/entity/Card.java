@@ -50,6 +50,14 @@ public class Card {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance;
 
+    // Зачисления копятся в card_operations и переносятся в balance пачками (HotCardBalanceAggregator)
+    @Column(nullable = false)
+    private boolean hot;
+
+    // 0 — баланс в balance; N > 0 — баланс разложен по N строкам card_balance_shards
+    @Column(name = "balance_shards", nullable = false)
+    private int balanceShards;
+
     @Version
     private Long version;
 }
\ No newline at end of file
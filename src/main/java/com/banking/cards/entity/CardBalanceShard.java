@@ -0,0 +1,49 @@
+package com.banking.cards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Часть баланса карты в режиме шардирования. Баланс карты — сумма всех её шардов.
+ * Связь с картой — просто id: шарды меняются только точечными UPDATE и не загружаются вместе с картой.
+ */
+@Entity
+@Table(
+        name = "card_balance_shards",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uq_card_balance_shards_card_shard",
+                columnNames = {"card_id", "shard"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardBalanceShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,8 +31,10 @@ import java.time.Instant;
 @Builder
 public class CardOperation {
 
+    // Шаг sequence 50 (V-1.14): id выделяются блоками, INSERT'ы идут JDBC-пачками
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_operations_id")
+    @SequenceGenerator(name = "card_operations_id", sequenceName = "card_operations_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -51,4 +54,9 @@ public class CardOperation {
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
+
+    // false — зачисление на hot-карту ещё не перенесено в cards.balance
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean applied = true;
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.banking.cards.entity;
+
+import com.banking.cards.common.ScheduledTransferStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "scheduled_transfers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_key", nullable = false)
+    private UUID userKey;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "from_card_id", nullable = false)
+    private Card fromCard;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "to_card_id", nullable = false)
+    private Card toCard;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "execute_at", nullable = false)
+    private Instant executeAt;
+
+    @Column(name = "due_at", nullable = false)
+    private Instant dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ScheduledTransferStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "executed_at")
+    private Instant executedAt;
+}
@@ -6,8 +6,11 @@ import com.banking.cards.common.MaskedValueFactory;
 import com.banking.cards.dto.response.AdminCardDto;
 import com.banking.cards.dto.response.CardDto;
 import com.banking.cards.dto.response.CardOperationDto;
+import com.banking.cards.dto.response.ScheduledTransferDto;
 import com.banking.cards.entity.Card;
 import com.banking.cards.entity.CardOperation;
+import com.banking.cards.entity.ScheduledTransfer;
+import com.banking.cards.service.CardBalanceService;
 import com.banking.cards.util.MathUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -18,13 +21,15 @@ import java.math.BigDecimal;
 public class CardMapper {
     @Autowired
     private MaskedValueFactory maskedValueFactory;
+    @Autowired
+    private CardBalanceService cardBalanceService;
 
     public CardDto toDto(Card card) {
         return new CardDto(
                 toMaskedCardNumber(card.getCardNumber()),
                 card.getValidityPeriod(),
                 card.getStatus(),
-                toMaskedCardBalance(MathUtil.roundBalanceTo2SymbolsAfterPoint(card.getBalance()))
+                toMaskedCardBalance(MathUtil.roundBalanceTo2SymbolsAfterPoint(cardBalanceService.currentBalance(card)))
         );
     }
 
@@ -33,7 +38,7 @@ public class CardMapper {
                 toMaskedCardNumber(card.getCardNumber()).toString(),
                 card.getValidityPeriod(),
                 card.getStatus(),
-                toMaskedCardBalance(card.getBalance()).toString()
+                toMaskedCardBalance(cardBalanceService.currentBalance(card)).toString()
         );
     }
 
@@ -47,6 +52,20 @@ public class CardMapper {
         );
     }
 
+    public ScheduledTransferDto toScheduledTransferDto(ScheduledTransfer transfer) {
+        return new ScheduledTransferDto(
+                transfer.getId(),
+                toMaskedCardNumber(transfer.getFromCard().getCardNumber()),
+                toMaskedCardNumber(transfer.getToCard().getCardNumber()),
+                transfer.getAmount(),
+                transfer.getExecuteAt(),
+                transfer.getDueAt(),
+                transfer.getStatus(),
+                transfer.getLastError(),
+                transfer.getExecutedAt()
+        );
+    }
+
     public MaskedCardNumber toMaskedCardNumber(String cardNumber) {
         return maskedValueFactory.createCardNumber(cardNumber);
     }
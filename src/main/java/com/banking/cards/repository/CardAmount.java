@@ -0,0 +1,12 @@
+package com.banking.cards.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Сумма по карте из агрегирующих native-запросов.
+ */
+public interface CardAmount {
+    Long getCardId();
+
+    BigDecimal getAmount();
+}
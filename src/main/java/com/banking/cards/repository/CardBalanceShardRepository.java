@@ -0,0 +1,73 @@
+package com.banking.cards.repository;
+
+import com.banking.cards.entity.CardBalanceShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface CardBalanceShardRepository extends JpaRepository<CardBalanceShard, Long> {
+
+    @Query("select coalesce(sum(s.balance), 0) from CardBalanceShard s where s.cardId = :cardId")
+    BigDecimal sumBalance(@Param("cardId") Long cardId);
+
+    @Modifying
+    @Query("update CardBalanceShard s set s.balance = s.balance + :amount where s.cardId = :cardId and s.shard = :shard")
+    int credit(@Param("cardId") Long cardId, @Param("shard") int shard, @Param("amount") BigDecimal amount);
+
+    // Зачисление, если шард не заблокирован другой транзакцией; 0 — шард занят
+    @Modifying
+    @Query(value = """
+            UPDATE card_balance_shards SET balance = balance + :amount
+            WHERE id = (
+                SELECT id FROM card_balance_shards
+                WHERE card_id = :cardId AND shard = :shard
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int tryCreditUnlocked(@Param("cardId") Long cardId, @Param("shard") int shard, @Param("amount") BigDecimal amount);
+
+    // Условное списание без ожидания: 0 — шард занят другой транзакцией или в нём не хватает средств
+    @Modifying
+    @Query(value = """
+            UPDATE card_balance_shards SET balance = balance - :amount
+            WHERE id = (
+                SELECT id FROM card_balance_shards
+                WHERE card_id = :cardId AND shard = :shard AND balance >= :amount
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int tryDebitUnlocked(@Param("cardId") Long cardId, @Param("shard") int shard, @Param("amount") BigDecimal amount);
+
+    // Условное списание: 0 обновлённых строк — в шарде не хватает средств
+    @Modifying
+    @Query("""
+            update CardBalanceShard s set s.balance = s.balance - :amount
+            where s.cardId = :cardId and s.shard = :shard and s.balance >= :amount
+            """)
+    int tryDebit(@Param("cardId") Long cardId, @Param("shard") int shard, @Param("amount") BigDecimal amount);
+
+    // Блокировки берутся по возрастанию номера шарда, чтобы параллельные консолидации не ловили deadlock.
+    // Возвращаются id, а не сущности: шарды меняются UPDATE'ами мимо контекста персистентности,
+    // и загруженные в него сущности устарели бы к следующей консолидации в той же транзакции
+    @Query(value = "SELECT id FROM card_balance_shards WHERE card_id = :cardId ORDER BY shard FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockAllByCardId(@Param("cardId") Long cardId);
+
+    // Весь баланс карты в нулевой шард одним UPDATE; подзапрос видит суммы на начало выражения
+    @Modifying
+    @Query(value = """
+            UPDATE card_balance_shards SET balance = CASE WHEN shard = 0
+                THEN (SELECT sum(balance) FROM card_balance_shards WHERE card_id = :cardId)
+                ELSE 0 END
+            WHERE card_id = :cardId
+            """, nativeQuery = true)
+    int consolidate(@Param("cardId") Long cardId);
+
+    @Modifying
+    @Query("delete from CardBalanceShard s where s.cardId = :cardId")
+    int deleteAllByCardId(@Param("cardId") Long cardId);
+}
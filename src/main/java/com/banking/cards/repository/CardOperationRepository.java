@@ -4,8 +4,65 @@ import com.banking.cards.entity.CardOperation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
 
 public interface CardOperationRepository extends JpaRepository<CardOperation, Long> {
 
     Page<CardOperation> findAllByFromCard_IdOrToCard_Id(Long fromId, Long toId, Pageable pageable);
+
+    /**
+     * История операций карты начиная с {@code since}, когда задано окно {@code history-months}.
+     * Нижняя граница по created_at нужна, чтобы PostgreSQL отсекал партиции старше окна и не ходил в их индексы.
+     */
+    @Query("""
+            SELECT o FROM CardOperation o
+            WHERE (o.fromCard.id = :cardId OR o.toCard.id = :cardId)
+              AND o.createdAt >= :since
+            """)
+    Page<CardOperation> findCardHistory(
+            @Param("cardId") Long cardId,
+            @Param("since") Instant since,
+            Pageable pageable
+    );
+
+    boolean existsByToCard_IdAndAppliedFalse(Long cardId);
+
+    /**
+     * Переносит пачку неприменённых зачислений в балансы карт одним запросом:
+     * операции помечаются применёнными, суммы по картам добавляются к cards.balance.
+     * SKIP LOCKED позволяет запускать перенос на нескольких узлах одновременно.
+     * Операции сопоставляются по полному первичному ключу (id, created_at) партиционированной таблицы.
+     *
+     * @return число обновлённых карт
+     */
+    @Modifying
+    @Query(value = """
+            WITH batch AS (
+                SELECT id, created_at FROM card_operations
+                WHERE applied = false
+                ORDER BY id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            ), folded AS (
+                UPDATE card_operations o SET applied = true
+                FROM batch b
+                WHERE o.id = b.id
+                  AND o.created_at = b.created_at
+                RETURNING o.to_card_id, o.amount
+            ), totals AS (
+                SELECT to_card_id, SUM(amount) AS delta
+                FROM folded
+                GROUP BY to_card_id
+            )
+            UPDATE cards c
+            SET balance = c.balance + t.delta,
+                version = c.version + 1
+            FROM totals t
+            WHERE c.id = t.to_card_id
+            """, nativeQuery = true)
+    int applyPendingCredits(@Param("batchSize") int batchSize);
 }
\ No newline at end of file
@@ -3,11 +3,17 @@ package com.banking.cards.repository;
 import com.banking.cards.common.CardStatus;
 import com.banking.cards.entity.Card;
 import com.banking.cards.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +22,43 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     Optional<Card> findByCardNumber(String cardNumber);
 
     Optional<Card> findByCardNumberAndOwner(String cardNumber, User owner);
+
+    // Блокировки берутся в порядке id: параллельные пакетные переводы по общим картам не дают дедлока
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Card c where c.owner = :owner and c.cardNumber in :cardNumbers order by c.id")
+    List<Card> lockAllByOwnerAndCardNumberIn(
+            @Param("owner") User owner,
+            @Param("cardNumbers") Collection<String> cardNumbers
+    );
+
     List<Card> findAllByStatusNotAndValidityPeriodBefore(
             CardStatus status,
             YearMonth date
     );
+
+    // Баланс и неприменённые зачисления читаются одним запросом, чтобы параллельный перенос не дал двойного счёта
+    @Query("""
+            select c.balance + coalesce((
+                select sum(o.amount) from CardOperation o
+                where o.toCard = c and o.applied = false
+            ), 0)
+            from Card c
+            where c.id = :cardId
+            """)
+    BigDecimal findBalanceWithPendingCredits(@Param("cardId") Long cardId);
+
+    /**
+     * Полный баланс карт: cards.balance, шарды и неперенесённые зачисления hot-режима.
+     * Должен совпадать с суммой проводок карты в ledger_entries.
+     */
+    @Query(value = """
+            SELECT c.id AS cardId,
+                   c.balance
+                       + COALESCE((SELECT SUM(s.balance) FROM card_balance_shards s WHERE s.card_id = c.id), 0)
+                       + COALESCE((SELECT SUM(o.amount) FROM card_operations o
+                                   WHERE o.to_card_id = c.id AND o.applied = false), 0) AS amount
+            FROM cards c
+            WHERE c.id IN (:cardIds)
+            """, nativeQuery = true)
+    List<CardAmount> findMaterializedBalances(@Param("cardIds") Collection<Long> cardIds);
 }
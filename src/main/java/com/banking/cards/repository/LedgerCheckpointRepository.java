@@ -0,0 +1,20 @@
+package com.banking.cards.repository;
+
+import com.banking.cards.entity.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+
+    // NOWAIT: второй узел не ждёт, а пропускает прогон
+    @Query(value = "SELECT last_entry_id FROM ledger_reconciler_state WHERE id = 1 FOR UPDATE NOWAIT", nativeQuery = true)
+    long lockWatermark();
+
+    @Modifying
+    @Query(value = "UPDATE ledger_reconciler_state SET last_entry_id = :lastEntryId, updated_at = :now WHERE id = 1", nativeQuery = true)
+    void advanceWatermark(@Param("lastEntryId") long lastEntryId, @Param("now") Instant now);
+}
@@ -0,0 +1,58 @@
+package com.banking.cards.repository;
+
+import com.banking.cards.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    /**
+     * Обе ноги проводки одним INSERT: {@code -amount} по счёту списания, {@code +amount} по счёту зачисления.
+     * {@code null} вместо карты — внешний счёт.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_entries (operation_id, card_id, kind, amount, created_at)
+            VALUES (CAST(:operationId AS BIGINT), CAST(:debitCardId AS BIGINT), :kind, -:amount, :createdAt),
+                   (CAST(:operationId AS BIGINT), CAST(:creditCardId AS BIGINT), :kind, :amount, :createdAt)
+            """, nativeQuery = true)
+    void insertLegs(
+            @Param("operationId") Long operationId,
+            @Param("debitCardId") Long debitCardId,
+            @Param("creditCardId") Long creditCardId,
+            @Param("kind") String kind,
+            @Param("amount") BigDecimal amount,
+            @Param("createdAt") Instant createdAt
+    );
+
+    /**
+     * Верхняя граница окна сверки: проводки моложе {@code before} ещё могут догонять
+     * незакоммиченные соседи с меньшим id, поэтому в окно не берутся.
+     */
+    @Query(value = """
+            SELECT COALESCE(MAX(id), :afterId) FROM ledger_entries
+            WHERE id > :afterId AND created_at < :before
+            """, nativeQuery = true)
+    long findSettledWatermark(@Param("afterId") long afterId, @Param("before") Instant before);
+
+    @Query(value = """
+            SELECT card_id AS cardId, SUM(amount) AS amount FROM ledger_entries
+            WHERE id > :afterId AND id <= :upToId AND card_id IS NOT NULL
+            GROUP BY card_id
+            """, nativeQuery = true)
+    List<CardAmount> sumByCardInRange(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    @Query(value = """
+            SELECT card_id AS cardId, SUM(amount) AS amount FROM ledger_entries
+            WHERE id > :afterId AND card_id IN (:cardIds)
+            GROUP BY card_id
+            """, nativeQuery = true)
+    List<CardAmount> sumByCardAfter(@Param("afterId") long afterId, @Param("cardIds") Collection<Long> cardIds);
+}
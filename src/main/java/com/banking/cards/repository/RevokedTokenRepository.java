@@ -0,0 +1,27 @@
+package com.banking.cards.repository;
+
+import com.banking.cards.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByJti(String jti);
+
+    @Query("select t.jti from RevokedToken t where t.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") Instant now);
+
+    @Query("select t.jti from RevokedToken t where t.createdAt > :since and t.expiresAt > :now")
+    List<String> findActiveJtisCreatedAfter(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
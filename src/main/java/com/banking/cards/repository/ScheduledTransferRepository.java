@@ -0,0 +1,24 @@
+package com.banking.cards.repository;
+
+import com.banking.cards.entity.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+
+    @EntityGraph(attributePaths = {"fromCard", "toCard"})
+    Page<ScheduledTransfer> findAllByUserKey(UUID userKey, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from ScheduledTransfer t where t.id = :id")
+    Optional<ScheduledTransfer> lockById(@Param("id") Long id);
+}
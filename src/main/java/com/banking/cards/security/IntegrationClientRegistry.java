@@ -0,0 +1,77 @@
+package com.banking.cards.security;
+
+import com.banking.cards.config.IntegrationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Реестр сторонних сервисов, которым разрешено получать интеграционный токен.
+ * <p>
+ * Хэши API-ключей загружаются из конфигурации один раз при старте. Ключи — длинные случайные
+ * строки, поэтому достаточно SHA-256: медленный хэш вроде BCrypt здесь только добавил бы нагрузки.
+ * Сравнение выполняется за постоянное время, в том числе для неизвестного имени сервиса.
+ */
+@Slf4j
+@Component
+public class IntegrationClientRegistry {
+
+    private static final byte[] UNKNOWN_CLIENT_HASH = new byte[32];
+
+    private final Map<String, Client> clients;
+
+    public IntegrationClientRegistry(IntegrationProperties properties) {
+        Map<String, Client> loaded = new HashMap<>();
+        for (IntegrationProperties.Client client : properties.getClients()) {
+            if (StringUtils.isAnyBlank(client.getName(), client.getApiKeyHash())) {
+                throw new IllegalStateException("Integration client must have name and api-key-hash");
+            }
+            byte[] hash = HexFormat.of().parseHex(client.getApiKeyHash().trim());
+            if (hash.length != UNKNOWN_CLIENT_HASH.length) {
+                throw new IllegalStateException("api-key-hash of " + client.getName() + " is not a SHA-256 hex");
+            }
+            loaded.put(normalize(client.getName()), new Client(client.getName(), hash));
+        }
+        this.clients = Map.copyOf(loaded);
+        log.info("Loaded {} integration clients", clients.size());
+    }
+
+    /**
+     * Проверяет пару «сервис — ключ» и возвращает каноническое имя сервиса.
+     */
+    public String authenticate(String serviceName, String apiKey) {
+        Client client = clients.get(normalize(serviceName));
+        byte[] expected = client == null ? UNKNOWN_CLIENT_HASH : client.apiKeyHash();
+
+        boolean matches = MessageDigest.isEqual(expected, sha256(apiKey));
+        if (client == null || !matches) {
+            throw new BadCredentialsException("Invalid service credentials");
+        }
+        return client.name();
+    }
+
+    private static String normalize(String serviceName) {
+        return serviceName == null ? "" : serviceName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(Objects.toString(value, "").getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Client(String name, byte[] apiKeyHash) {}
+}
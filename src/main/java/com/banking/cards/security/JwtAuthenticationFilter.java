@@ -1,5 +1,6 @@
 package com.banking.cards.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +20,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
 
     @Override
     protected void doFilterInternal(
@@ -33,29 +35,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
 
-                // Если Optional не пустой, значит токен валиден.
-                jwtService.parseToken(token).ifPresent(claims -> {
+                // Если Optional не пустой, значит токен валиден и не отозван.
+                jwtService.parseToken(token)
+                        .filter(claims -> !isRevoked(claims))
+                        .ifPresent(claims -> {
 
-                    String userId = claims.getSubject();
-                    @SuppressWarnings("unchecked")
-                    List<String> roles = claims.get("roles", List.class);
+                            String userId = claims.getSubject();
+                            @SuppressWarnings("unchecked")
+                            List<String> roles = claims.get("roles", List.class);
 
-                    List<SimpleGrantedAuthority> authorities = (roles == null)
-                            ? List.of() // Защита от NPE если ролей нет
-                            : roles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .toList();
+                            List<SimpleGrantedAuthority> authorities = (roles == null)
+                                    ? List.of() // Защита от NPE если ролей нет
+                                    : roles.stream()
+                                    .map(SimpleGrantedAuthority::new)
+                                    .toList();
 
-                    Authentication authentication = new UsernamePasswordAuthenticationToken(
-                            userId, // Principal
-                            null,   // Credentials
-                            authorities
-                    );
+                            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                                    userId, // Principal
+                                    null,   // Credentials
+                                    authorities
+                            );
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                });
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                        });
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private boolean isRevoked(Claims claims) {
+        // Токены без jti выпущены до появления отзыва
+        return claims.getId() != null && revocationService.isRevoked(claims.getId());
+    }
 }
@@ -0,0 +1,255 @@
+package com.banking.cards.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Локальный набор асимметричных ключей для JWT.
+ * <p>
+ * Ключи лежат в каталоге {@code application.security.jwt.key-ring.path} парами:
+ * <ul>
+ *     <li>{@code <kid>.pub.pem} — открытый ключ (X.509), нужен всем узлам для проверки;</li>
+ *     <li>{@code <kid>.key.pem} — закрытый ключ (PKCS#8), нужен только узлам, которые выпускают токены.</li>
+ * </ul>
+ * Активным ключом подписи считается {@code active-kid}, а если он не задан — последний по имени kid,
+ * для которого есть закрытый ключ. Ротация: положить новую пару в каталог, старый открытый ключ
+ * удалить после истечения выпущенных им токенов. Каталог перечитывается по расписанию без рестарта.
+ * <p>
+ * Чтение ключей не блокируется: текущее состояние — неизменяемый снимок, который подменяется целиком.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private static final String PUBLIC_KEY_SUFFIX = ".pub.pem";
+    private static final String PRIVATE_KEY_SUFFIX = ".key.pem";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final String configuredActiveKid;
+    private final long missReloadIntervalMs;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final AtomicLong lastMissReload = new AtomicLong();
+    // Не synchronized: внутри чтение файлов, а на Java 21 блокировка монитора прикалывает виртуальный поток к носителю
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public JwtKeyRing(
+            @Value("${application.security.jwt.key-ring.enabled:false}") boolean enabled,
+            @Value("${application.security.jwt.key-ring.path:}") String directory,
+            @Value("${application.security.jwt.key-ring.active-kid:}") String activeKid,
+            @Value("${application.security.jwt.key-ring.miss-reload-interval:5000}") long missReloadIntervalMs
+    ) {
+        this.enabled = enabled;
+        this.directory = StringUtils.isBlank(directory) ? null : Path.of(directory);
+        this.configuredActiveKid = StringUtils.trimToNull(activeKid);
+        this.missReloadIntervalMs = missReloadIntervalMs;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (directory == null) {
+            throw new IllegalStateException("JWT key ring is enabled but key-ring.path is not set");
+        }
+        reload();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ключ для подписи новых токенов. Пусто — узел работает только на проверку.
+     */
+    public Optional<JwtSigningKey> activeSigningKey() {
+        return Optional.ofNullable(snapshot.get().signingKey());
+    }
+
+    /**
+     * Открытый ключ по {@code kid} из кэша. При промахе каталог перечитывается
+     * (не чаще {@code miss-reload-interval}), чтобы подхватить ключ, выпущенный другим узлом.
+     */
+    public Optional<Key> verificationKey(String kid) {
+        Key key = snapshot.get().publicKeys().get(kid);
+        if (key == null && enabled && tryAcquireMissReload()) {
+            reloadIfChanged();
+            key = snapshot.get().publicKeys().get(kid);
+        }
+        return Optional.ofNullable(key);
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.key-ring.reload-interval:30000}")
+    public void reloadIfChanged() {
+        if (!enabled) {
+            return;
+        }
+        if (!scanFiles().equals(snapshot.get().files())) {
+            reload();
+        }
+    }
+
+    void reload() {
+        reloadLock.lock();
+        try {
+            load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void load() {
+        Map<String, FileTime> files = scanFiles();
+        Map<String, Key> publicKeys = new HashMap<>();
+        TreeMap<String, PrivateKey> privateKeys = new TreeMap<>();
+
+        for (String fileName : files.keySet()) {
+            Path file = directory.resolve(fileName);
+            try {
+                if (fileName.endsWith(PUBLIC_KEY_SUFFIX)) {
+                    publicKeys.put(kidOf(fileName, PUBLIC_KEY_SUFFIX), readPublicKey(file));
+                } else if (fileName.endsWith(PRIVATE_KEY_SUFFIX)) {
+                    privateKeys.put(kidOf(fileName, PRIVATE_KEY_SUFFIX), readPrivateKey(file));
+                }
+            } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+                // Битый файл не должен ронять уже загруженные ключи
+                log.error("Failed to load JWT key {}: {}", file, e.getMessage());
+            }
+        }
+
+        JwtSigningKey signingKey = chooseSigningKey(privateKeys, publicKeys);
+        snapshot.set(new Snapshot(Map.copyOf(files), Map.copyOf(publicKeys), signingKey));
+
+        log.info("JWT key ring loaded: {} verification keys, active kid: {}",
+                publicKeys.size(), signingKey == null ? "none" : signingKey.kid());
+    }
+
+    private JwtSigningKey chooseSigningKey(TreeMap<String, PrivateKey> privateKeys, Map<String, Key> publicKeys) {
+        String kid = configuredActiveKid != null ? configuredActiveKid : privateKeys.isEmpty() ? null : privateKeys.lastKey();
+        if (kid == null) {
+            return null;
+        }
+
+        PrivateKey key = privateKeys.get(kid);
+        if (key == null) {
+            log.warn("Private key for active kid {} not found, node will only verify tokens", kid);
+            return null;
+        }
+        if (!publicKeys.containsKey(kid)) {
+            // Иначе токены этого узла не проверит никто, включая его самого
+            log.warn("Public key for active kid {} not found, signing disabled", kid);
+            return null;
+        }
+        return new JwtSigningKey(kid, key, algorithmFor(key));
+    }
+
+    private boolean tryAcquireMissReload() {
+        long now = System.currentTimeMillis();
+        long last = lastMissReload.get();
+        return now - last >= missReloadIntervalMs && lastMissReload.compareAndSet(last, now);
+    }
+
+    private Map<String, FileTime> scanFiles() {
+        Map<String, FileTime> files = new HashMap<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().endsWith(PUBLIC_KEY_SUFFIX)
+                            || p.getFileName().toString().endsWith(PRIVATE_KEY_SUFFIX))
+                    .forEach(p -> {
+                        try {
+                            files.put(p.getFileName().toString(), Files.getLastModifiedTime(p));
+                        } catch (IOException e) {
+                            log.warn("Cannot stat JWT key file {}: {}", p, e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            log.error("Cannot read JWT key ring directory {}: {}", directory, e.getMessage());
+            // Оставляем текущее состояние, чтобы временная недоступность каталога не сбросила ключи
+            return snapshot.get().files();
+        }
+        return files;
+    }
+
+    static SignatureAlgorithm algorithmFor(Key key) {
+        if (key instanceof ECKey ecKey) {
+            int bits = ecKey.getParams().getCurve().getField().getFieldSize();
+            return switch (bits) {
+                case 256 -> SignatureAlgorithm.ES256;
+                case 384 -> SignatureAlgorithm.ES384;
+                case 521 -> SignatureAlgorithm.ES512;
+                default -> throw new IllegalArgumentException("Unsupported EC curve size: " + bits);
+            };
+        }
+        if (key instanceof RSAKey) {
+            return SignatureAlgorithm.RS256;
+        }
+        throw new IllegalArgumentException("Unsupported key type: " + key.getAlgorithm());
+    }
+
+    private static PublicKey readPublicKey(Path file) throws IOException, GeneralSecurityException {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(readPem(file));
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(spec);
+        } catch (GeneralSecurityException e) {
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        }
+    }
+
+    private static PrivateKey readPrivateKey(Path file) throws IOException, GeneralSecurityException {
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(readPem(file));
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(spec);
+        } catch (GeneralSecurityException e) {
+            return KeyFactory.getInstance("RSA").generatePrivate(spec);
+        }
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        String body = Files.readString(file)
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private static String kidOf(String fileName, String suffix) {
+        return fileName.substring(0, fileName.length() - suffix.length());
+    }
+
+    private record Snapshot(
+            Map<String, FileTime> files,
+            Map<String, Key> publicKeys,
+            JwtSigningKey signingKey
+    ) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.cards.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.Keys;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * HS256-ключ {@code application.security.jwt.secret-key} для токенов без {@code kid}.
+ * <p>
+ * Пока key ring выключен, это единственный ключ подписи и проверки, и без него узел не стартует:
+ * значения по умолчанию у секрета нет, он задаётся через {@code JWT_SECRET_KEY}. После включения
+ * key ring токены без {@code kid} не принимаются — иначе их мог бы подделать любой, кто знает секрет.
+ * На время перехода их можно принимать до момента {@code key-ring.accept-legacy-until}
+ * (ISO-8601, достаточно срока жизни уже выпущенных access-токенов).
+ */
+@Component
+public class JwtSecretKey {
+
+    private final JwtKeyRing keyRing;
+    private final SecretKey key;
+    private final Instant acceptLegacyUntil;
+
+    public JwtSecretKey(
+            JwtKeyRing keyRing,
+            @Value("${application.security.jwt.secret-key:}") String secret,
+            @Value("${application.security.jwt.key-ring.accept-legacy-until:}") String acceptLegacyUntil
+    ) {
+        if (!keyRing.isEnabled() && StringUtils.isBlank(secret)) {
+            throw new IllegalStateException("JWT secret-key is not set and the key ring is disabled");
+        }
+        this.keyRing = keyRing;
+        this.key = StringUtils.isBlank(secret)
+                ? null
+                : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.acceptLegacyUntil = StringUtils.isBlank(acceptLegacyUntil)
+                ? null
+                : Instant.parse(acceptLegacyUntil.trim());
+    }
+
+    /**
+     * Ключ подписи новых токенов; пусто, если включён key ring.
+     */
+    public Optional<SecretKey> signingKey() {
+        return keyRing.isEnabled() ? Optional.empty() : Optional.ofNullable(key);
+    }
+
+    /**
+     * Ключ проверки токена без {@code kid}.
+     */
+    public SecretKey verificationKey() {
+        if (key == null || (keyRing.isEnabled() && !legacyWindowOpen())) {
+            throw new JwtException("Token without key id is not accepted");
+        }
+        return key;
+    }
+
+    private boolean legacyWindowOpen() {
+        return acceptLegacyUntil != null && Instant.now().isBefore(acceptLegacyUntil);
+    }
+}
@@ -1,45 +1,66 @@
 package com.banking.cards.security;
 
+import com.banking.cards.config.IntegrationProperties;
 import com.banking.cards.dto.request.SideServiceRequest;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import lombok.Getter;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Component
 public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
-    private final SecretKey secretKey;
+    private final JwtKeyRing keyRing;
+    // HS256-ключ: используется, пока не включён key ring
+    private final JwtSecretKey secretKey;
+    private final JwtParser parser;
     private final long expirationMs;
-    @Getter
-    private final String sideServiceName;
-    private final String integrationApiKey;
+    private final IntegrationClientRegistry integrationClients;
+    private final long integrationExpirationMs;
+    private final long integrationRefreshBeforeMs;
+    // Выпущенный интеграционный токен на каждый сервис: партнёр запрашивает токен почти перед каждым вызовом
+    private final ConcurrentMap<String, IssuedToken> integrationTokens = new ConcurrentHashMap<>();
 
     public JwtService(
-            @Value("${application.security.jwt.secret-key}") String secret,
-            @Value("${application.security.jwt.expiration}") long expirationMs,
-            @Value("${application.security.integration.service-name}") String sideServiceName,
-            @Value("${application.security.integration.api-key}") String integrationApiKey
+            JwtKeyRing keyRing,
+            IntegrationClientRegistry integrationClients,
+            IntegrationProperties integrationProperties,
+            JwtSecretKey secretKey,
+            @Value("${application.security.jwt.expiration}") long expirationMs
     ) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.keyRing = keyRing;
+        this.secretKey = secretKey;
         this.expirationMs = expirationMs;
-        this.sideServiceName = sideServiceName;
-        this.integrationApiKey = integrationApiKey;
+        this.integrationClients = integrationClients;
+        this.integrationExpirationMs = integrationProperties.getTokenExpiration();
+        this.integrationRefreshBeforeMs = integrationProperties.getTokenRefreshBefore();
+        // Парсер неизменяемый и потокобезопасный — собираем один раз
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     public String generateToken(SecurityUser user) {
@@ -49,34 +70,45 @@ public class JwtService {
                 .map(GrantedAuthority::getAuthority)
                 .toList();
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getUniqueKey().toString())
                 .setIssuedAt(now)
                 .setExpiration(exp)
-                .claim("roles", roles)
-                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .claim("roles", roles))
                 .compact();
     }
 
+    /**
+     * Возвращает интеграционный токен для сервиса. Пока ранее выпущенный токен
+     * не приблизился к истечению, он переиспользуется без повторной подписи.
+     */
     public String generateIntegrationToken(SideServiceRequest request) {
-        if (!sideServiceName.equalsIgnoreCase(request.service())) {
-            throw new BadCredentialsException("Invalid service name");
-        }
+        String serviceName = integrationClients.authenticate(request.service(), request.apiKey());
 
-        if (!integrationApiKey.equals(request.apiKey())) {
-            throw new BadCredentialsException("Invalid API Key");
+        long now = System.currentTimeMillis();
+        IssuedToken cached = integrationTokens.get(serviceName);
+        if (cached != null && cached.isFresh(now)) {
+            return cached.token();
         }
 
-        Date now = new Date();
-        Date exp = new Date(now.getTime() + expirationMs);
+        // compute блокирует только запись этого сервиса: при одновременных запросах подпись выполняется один раз
+        return integrationTokens.compute(serviceName, (name, current) ->
+                current != null && current.isFresh(now) ? current : issueIntegrationToken(name, now)
+        ).token();
+    }
 
-        return Jwts.builder()
-                .setSubject(sideServiceName)
-                .setIssuedAt(now)
+    private IssuedToken issueIntegrationToken(String serviceName, long now) {
+        Date exp = new Date(now + integrationExpirationMs);
+
+        String token = sign(Jwts.builder()
+                .setSubject(serviceName)
+                .setIssuedAt(new Date(now))
                 .setExpiration(exp)
-                .claim("roles", List.of("ROLE_INTEGRATION"))
-                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .claim("roles", List.of("ROLE_INTEGRATION")))
                 .compact();
+
+        return new IssuedToken(token, exp.getTime() - integrationRefreshBeforeMs);
     }
 
     // --- ОПТИМИЗАЦИЯ ЗДЕСЬ ---
@@ -88,9 +120,7 @@ public class JwtService {
      */
     public Optional<Claims> parseToken(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
+            Claims claims = parser
                     .parseClaimsJws(token)
                     .getBody();
             return Optional.of(claims);
@@ -99,4 +129,33 @@ public class JwtService {
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    private JwtBuilder sign(JwtBuilder builder) {
+        Optional<JwtSigningKey> signingKey = keyRing.activeSigningKey();
+        if (signingKey.isPresent()) {
+            JwtSigningKey key = signingKey.get();
+            return builder
+                    .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                    .signWith(key.key(), key.algorithm());
+        }
+
+        // Пусто — узел только для проверки: закрытого ключа у него нет
+        return builder.signWith(secretKey.signingKey()
+                .orElseThrow(() -> new IllegalStateException("Token signing is not available on this node")),
+                SignatureAlgorithm.HS256);
+    }
+
+    private Key resolveVerificationKey(String kid) {
+        if (kid != null) {
+            return keyRing.verificationKey(kid)
+                    .orElseThrow(() -> new JwtException("Unknown key id: " + kid));
+        }
+        return secretKey.verificationKey();
+    }
+
+    private record IssuedToken(String token, long refreshAtMs) {
+        boolean isFresh(long now) {
+            return now < refreshAtMs;
+        }
+    }
+}
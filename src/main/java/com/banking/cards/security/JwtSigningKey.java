@@ -0,0 +1,18 @@
+package com.banking.cards.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+
+/**
+ * Ключ, которым подписываются выпускаемые токены.
+ *
+ * @param kid       идентификатор ключа (попадает в заголовок {@code kid})
+ * @param key       закрытый ключ
+ * @param algorithm алгоритм подписи, соответствующий типу ключа
+ */
+public record JwtSigningKey(
+        String kid,
+        Key key,
+        SignatureAlgorithm algorithm
+) {}
@@ -0,0 +1,118 @@
+package com.banking.cards.security;
+
+import com.banking.cards.common.RateLimitCategory;
+import com.banking.cards.config.RateLimitProperties;
+import com.banking.cards.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process квоты на запросы: отдельное ведро на каждую пару «субъект JWT — категория эндпоинтов».
+ * Лимиты задаются по роли в {@code application.rate-limit.limits}; для ролей и категорий без
+ * настроенного лимита запросы не ограничиваются.
+ * <p>
+ * Квоты локальны для узла: при N репликах фактический лимит на клиента — до N × capacity.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final boolean enabled;
+    private final Map<String, Map<RateLimitCategory, RateLimitProperties.Limit>> limits;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.limits = resolveLimits(properties);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("cards.ratelimit.buckets", Tags.empty(), buckets);
+    }
+
+    /**
+     * @return 0, если запрос разрешён, иначе рекомендуемая пауза в наносекундах
+     */
+    public long tryAcquire(String subject, String authority, RateLimitCategory category) {
+        if (!enabled) {
+            return 0;
+        }
+
+        String role = roleKey(authority);
+        RateLimitProperties.Limit limit = limits.getOrDefault(role, Map.of()).get(category);
+        if (limit == null) {
+            return 0;
+        }
+
+        TokenBucket bucket = buckets.computeIfAbsent(
+                category.key() + ':' + subject,
+                key -> new TokenBucket(limit.getCapacity(), limit.getRequestsPerSecond())
+        );
+        long waitNanos = bucket.tryConsume(System.nanoTime());
+
+        counter(role, category, waitNanos == 0 ? "allowed" : "rejected").increment();
+        return waitNanos;
+    }
+
+    /**
+     * Удаляет восстановившиеся вёдра, чтобы карта не росла с числом когда-либо заходивших клиентов.
+     */
+    @Scheduled(fixedDelayString = "${application.rate-limit.cleanup-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private Counter counter(String role, RateLimitCategory category, String outcome) {
+        return counters.computeIfAbsent(role + ':' + category.key() + ':' + outcome, key ->
+                Counter.builder("cards.ratelimit.requests")
+                        .description("Requests checked by the rate limiter")
+                        .tag("role", role)
+                        .tag("category", category.key())
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+    }
+
+    private static String roleKey(String authority) {
+        String role = authority.startsWith(ROLE_PREFIX) ? authority.substring(ROLE_PREFIX.length()) : authority;
+        return role.toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Map<RateLimitCategory, RateLimitProperties.Limit>> resolveLimits(
+            RateLimitProperties properties
+    ) {
+        Map<String, Map<RateLimitCategory, RateLimitProperties.Limit>> resolved = new HashMap<>();
+        properties.getLimits().forEach((role, byCategory) -> {
+            Map<RateLimitCategory, RateLimitProperties.Limit> roleLimits = new HashMap<>();
+            byCategory.forEach((key, limit) -> {
+                RateLimitCategory category = categoryByKey(key);
+                // Проверяем параметры сразу при старте, а не на первом запросе
+                new TokenBucket(limit.getCapacity(), limit.getRequestsPerSecond());
+                roleLimits.put(category, limit);
+            });
+            resolved.put(role.toLowerCase(Locale.ROOT), Map.copyOf(roleLimits));
+        });
+        return Map.copyOf(resolved);
+    }
+
+    private static RateLimitCategory categoryByKey(String key) {
+        for (RateLimitCategory category : RateLimitCategory.values()) {
+            if (category.key().equals(key)) {
+                return category;
+            }
+        }
+        throw new IllegalStateException("Unknown rate limit category: " + key);
+    }
+}
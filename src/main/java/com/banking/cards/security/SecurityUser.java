@@ -17,6 +17,10 @@ public class SecurityUser implements UserDetails {
         this.user = user;
     }
 
+    public User getUser() {
+        return user;
+    }
+
     public UUID getUniqueKey() {
         return user.getUniqueKey();
     }
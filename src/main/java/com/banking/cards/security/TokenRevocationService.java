@@ -0,0 +1,133 @@
+package com.banking.cards.security;
+
+import com.banking.cards.entity.RevokedToken;
+import com.banking.cards.repository.RevokedTokenRepository;
+import com.banking.cards.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Список отозванных access-токенов.
+ * <p>
+ * Источник истины — таблица {@code revoked_tokens}, а на каждом узле держится Bloom-фильтр по jti,
+ * который периодически синхронизируется с таблицей. Фильтр отвечает «точно не отозван» без обращения
+ * к БД, поэтому проверка в {@link JwtAuthenticationFilter} почти всегда бесплатна. Редкое «возможно
+ * отозван» подтверждается запросом. Отзыв, сделанный на другом узле, виден здесь через {@code sync-interval}.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Перекрытие окна синхронизации: строки, закоммиченные позже своего created_at, не теряются
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final boolean loadOnStart;
+
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync = Instant.EPOCH;
+    // Не synchronized: внутри запросы к БД, а на Java 21 блокировка монитора прикалывает виртуальный поток к носителю
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public TokenRevocationService(
+            RevokedTokenRepository repository,
+            @Value("${application.security.jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+            @Value("${application.security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${application.security.jwt.revocation.load-on-start:true}") boolean loadOnStart
+    ) {
+        this.repository = repository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.loadOnStart = loadOnStart;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void init() {
+        // Выключается только для обучающего прогона CDS, где БД нет
+        if (loadOnStart) {
+            rebuild();
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return filter.mightContain(jti) && repository.existsByJti(jti);
+    }
+
+    public void revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        revoke(claims.getId(), claims.getExpiration().toInstant());
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (expiresAt.isBefore(now)) {
+            return;
+        }
+
+        if (!repository.existsByJti(jti)) {
+            repository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(expiresAt)
+                    .createdAt(now)
+                    .build());
+        }
+        filter.put(jti);
+    }
+
+    /**
+     * Догружает в фильтр отзывы, сделанные с прошлой синхронизации (в том числе на других узлах).
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.sync-interval:10000}")
+    public void sync() {
+        refreshLock.lock();
+        try {
+            Instant now = Instant.now();
+            List<String> jtis = repository.findActiveJtisCreatedAfter(lastSync.minus(SYNC_OVERLAP), now);
+            BloomFilter current = filter;
+            jtis.forEach(current::put);
+            lastSync = now;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Пересобирает фильтр с нуля: истёкшие токены больше не нужны и только повышают
+     * вероятность ложного срабатывания.
+     */
+    @Scheduled(
+            initialDelayString = "${application.security.jwt.revocation.rebuild-interval:3600000}",
+            fixedDelayString = "${application.security.jwt.revocation.rebuild-interval:3600000}"
+    )
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            Instant now = Instant.now();
+            int purged = repository.deleteExpired(now);
+
+            List<String> jtis = repository.findActiveJtis(now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, jtis.size()), falsePositiveRate);
+            jtis.forEach(rebuilt::put);
+
+            filter = rebuilt;
+            lastSync = now;
+            log.info("Revocation filter rebuilt: {} active, {} expired purged", jtis.size(), purged);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.ArchiveTable;
+import com.banking.cards.config.ArchiveProperties;
+import com.banking.cards.util.BloomFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Архивные сегменты на локальном диске.
+ * <p>
+ * Раскладка: {@code <path>/<table>/<yyyy>/<MM>/<dd>/<minId>-<maxId>.seg.gz} — строки одного дня (UTC),
+ * записанные по колонкам и сжатые GZIP. Однотипные значения колонки идут подряд и сжимаются заметно
+ * лучше построчной записи. Рядом лежит индекс {@code .idx.json}: диапазон id и времени и Bloom-фильтр
+ * по номерам карт, чтобы поиск по карте открывал только сегменты, где она может встретиться.
+ * <p>
+ * Оба файла пишутся через временный файл с fsync и атомарным переименованием; индекс пишется
+ * последним, поэтому сегмент без индекса считается недописанным и при поиске не читается.
+ * Повторная выгрузка тех же строк перезаписывает сегмент с тем же именем.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveSegmentStore {
+
+    private static final int MAGIC = 0x43415231; // "CAR1"
+    private static final String SEGMENT_SUFFIX = ".seg.gz";
+    private static final String INDEX_SUFFIX = ".idx.json";
+
+    private final ArchiveProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Записывает сегмент из строк одного дня.
+     *
+     * @param rows значения в порядке {@link ArchiveTable#getColumns()}
+     */
+    public void write(ArchiveTable table, LocalDate day, List<String[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Integer> cardColumns = cardColumnIndexes(table);
+        BloomFilter bloom = new BloomFilter(
+                Math.max(1, rows.size() * cardColumns.size()),
+                properties.getBloomFalsePositiveRate()
+        );
+
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        Instant minCreatedAt = Instant.MAX;
+        Instant maxCreatedAt = Instant.MIN;
+        for (String[] row : rows) {
+            long id = Long.parseLong(row[0]);
+            Instant createdAt = Instant.parse(row[1]);
+            minId = Math.min(minId, id);
+            maxId = Math.max(maxId, id);
+            minCreatedAt = createdAt.isBefore(minCreatedAt) ? createdAt : minCreatedAt;
+            maxCreatedAt = createdAt.isAfter(maxCreatedAt) ? createdAt : maxCreatedAt;
+            for (int column : cardColumns) {
+                if (row[column] != null) {
+                    bloom.put(row[column]);
+                }
+            }
+        }
+
+        SegmentIndex index = new SegmentIndex(
+                rows.size(),
+                minId,
+                maxId,
+                minCreatedAt,
+                maxCreatedAt,
+                bloom.bitCount(),
+                bloom.hashCount(),
+                encode(bloom.toLongArray())
+        );
+
+        try {
+            Path directory = dayDirectory(table, day);
+            Files.createDirectories(directory);
+            String name = minId + "-" + maxId;
+
+            writeAtomically(directory.resolve(name + SEGMENT_SUFFIX), out -> writeSegment(out, table, rows));
+            writeAtomically(directory.resolve(name + INDEX_SUFFIX), out -> out.write(objectMapper.writeValueAsBytes(index)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write archive segment for " + table.getTableName(), e);
+        }
+    }
+
+    /**
+     * Ищет архивные строки, где карта встречается в одной из карточных колонок.
+     *
+     * @return строки в порядке дней и сегментов, не больше {@code limit}
+     */
+    public List<String[]> search(ArchiveTable table, String cardNumber, Instant from, Instant to, int limit) {
+        List<Integer> cardColumns = cardColumnIndexes(table);
+        List<String[]> found = new ArrayList<>();
+
+        try {
+            for (Path dayDirectory : dayDirectories(table,
+                    LocalDate.ofInstant(from, ZoneOffset.UTC), LocalDate.ofInstant(to, ZoneOffset.UTC))) {
+                for (Path indexPath : listIndexes(dayDirectory)) {
+                    SegmentIndex index = objectMapper.readValue(indexPath.toFile(), SegmentIndex.class);
+                    if (index.maxCreatedAt().isBefore(from) || index.minCreatedAt().isAfter(to)
+                            || !index.bloom().mightContain(cardNumber)) {
+                        continue;
+                    }
+
+                    Path segment = indexPath.resolveSibling(
+                            indexPath.getFileName().toString().replace(INDEX_SUFFIX, SEGMENT_SUFFIX));
+                    for (String[] row : readSegment(segment, table)) {
+                        Instant createdAt = Instant.parse(row[1]);
+                        if (createdAt.isBefore(from) || createdAt.isAfter(to) || !mentions(row, cardColumns, cardNumber)) {
+                            continue;
+                        }
+                        found.add(row);
+                        if (found.size() >= limit) {
+                            return found;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive of " + table.getTableName(), e);
+        }
+        return found;
+    }
+
+    // ===== SEGMENT FORMAT =====
+
+    private static void writeSegment(OutputStream file, ArchiveTable table, List<String[]> rows) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(file, 64 * 1024);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, 64 * 1024));
+
+        out.writeInt(MAGIC);
+        out.writeInt(table.getColumns().size());
+        out.writeInt(rows.size());
+        for (int column = 0; column < table.getColumns().size(); column++) {
+            out.writeUTF(table.getColumns().get(column));
+            for (String[] row : rows) {
+                writeValue(out, row[column]);
+            }
+        }
+
+        out.flush();
+        // finish, а не close: файл закрывает и синхронизирует writeAtomically
+        gzip.finish();
+    }
+
+    private static List<String[]> readSegment(Path segment, ArchiveTable table) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(segment), 64 * 1024)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an archive segment: " + segment);
+            }
+            int columns = in.readInt();
+            int rowCount = in.readInt();
+            if (columns != table.getColumns().size()) {
+                throw new IOException("Unexpected column count " + columns + " in " + segment);
+            }
+
+            String[][] rows = new String[rowCount][columns];
+            for (int column = 0; column < columns; column++) {
+                in.readUTF();
+                for (int row = 0; row < rowCount; row++) {
+                    rows[row][column] = readValue(in);
+                }
+            }
+            return List.of(rows);
+        }
+    }
+
+    // Длина -1 означает NULL; TEXT-колонки не влезают в ограничение writeUTF в 64 КБ
+    private static void writeValue(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readValue(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IOException("Truncated archive segment");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ===== HELPERS =====
+
+    private Path dayDirectory(ArchiveTable table, LocalDate day) {
+        return Paths.get(
+                properties.getPath(),
+                table.getTableName(),
+                String.valueOf(day.getYear()),
+                String.format("%02d", day.getMonthValue()),
+                String.format("%02d", day.getDayOfMonth())
+        );
+    }
+
+    /**
+     * Каталоги дней в диапазоне, которые есть на диске, по возрастанию. Обходятся только существующие
+     * каталоги годов и месяцев, поэтому диапазон в годы не превращается в перебор каждого дня.
+     */
+    private List<Path> dayDirectories(ArchiveTable table, LocalDate firstDay, LocalDate lastDay) throws IOException {
+        List<Path> days = new ArrayList<>();
+        Path root = Paths.get(properties.getPath(), table.getTableName());
+        for (Path year : listNumbered(root, firstDay.getYear(), lastDay.getYear())) {
+            int y = Integer.parseInt(year.getFileName().toString());
+            int firstMonth = y == firstDay.getYear() ? firstDay.getMonthValue() : 1;
+            int lastMonth = y == lastDay.getYear() ? lastDay.getMonthValue() : 12;
+            for (Path month : listNumbered(year, firstMonth, lastMonth)) {
+                int m = Integer.parseInt(month.getFileName().toString());
+                boolean firstMonthOfRange = y == firstDay.getYear() && m == firstDay.getMonthValue();
+                boolean lastMonthOfRange = y == lastDay.getYear() && m == lastDay.getMonthValue();
+                days.addAll(listNumbered(month,
+                        firstMonthOfRange ? firstDay.getDayOfMonth() : 1,
+                        lastMonthOfRange ? lastDay.getDayOfMonth() : 31));
+            }
+        }
+        return days;
+    }
+
+    // Подкаталоги с числовыми именами в [min, max] по возрастанию числа
+    private static List<Path> listNumbered(Path directory, int min, int max) throws IOException {
+        if (min > max || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> Files.isDirectory(path) && isNumberIn(path.getFileName().toString(), min, max))
+                    .sorted(Comparator.comparingInt(path -> Integer.parseInt(path.getFileName().toString())))
+                    .toList();
+        }
+    }
+
+    private static boolean isNumberIn(String name, int min, int max) {
+        if (name.isEmpty() || name.length() > 4 || !name.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        int value = Integer.parseInt(name);
+        return value >= min && value <= max;
+    }
+
+    private static List<Path> listIndexes(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().endsWith(INDEX_SUFFIX))
+                    .sorted(Comparator.comparingLong(ArchiveSegmentStore::firstId))
+                    .toList();
+        }
+    }
+
+    private static long firstId(Path indexPath) {
+        String name = indexPath.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.indexOf('-')));
+    }
+
+    private static void writeAtomically(Path target, SegmentWriter writer) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            writer.write(file);
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean mentions(String[] row, List<Integer> cardColumns, String cardNumber) {
+        for (int column : cardColumns) {
+            if (cardNumber.equals(row[column])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Integer> cardColumnIndexes(ArchiveTable table) {
+        return table.getCardColumns().stream()
+                .map(table.getColumns()::indexOf)
+                .toList();
+    }
+
+    private static String encode(long[] words) {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+        buffer.asLongBuffer().put(words);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    private static long[] decode(String bloom) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(bloom));
+        long[] words = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(words);
+        return words;
+    }
+
+    @FunctionalInterface
+    private interface SegmentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Индекс сегмента, хранится рядом с ним в JSON.
+     */
+    record SegmentIndex(
+            int rows,
+            long minId,
+            long maxId,
+            Instant minCreatedAt,
+            Instant maxCreatedAt,
+            int bloomBits,
+            int bloomHashes,
+            String bloomWords
+    ) {
+        BloomFilter bloom() {
+            return BloomFilter.fromBits(decode(bloomWords), bloomBits, bloomHashes);
+        }
+    }
+}
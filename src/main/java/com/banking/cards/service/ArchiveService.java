@@ -0,0 +1,143 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.ArchiveTable;
+import com.banking.cards.config.ArchiveProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Выгрузка старых строк {@code card_operations} и {@code audit_logs} в архивные сегменты.
+ * <p>
+ * Строки старше {@code cutoff-days} читаются пачками от самых старых, пишутся в сегменты по дням
+ * ({@link ArchiveSegmentStore}) и удаляются из БД в той же транзакции. Сегмент пишется до удаления:
+ * если транзакция не закоммитится, строки останутся в БД, а следующий прогон перезапишет тот же сегмент.
+ * <p>
+ * Зачисления на hot-карты, ещё не перенесённые в баланс ({@code applied = false}), не архивируются.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    private static final String CARD_OPERATIONS_EXPORT = """
+            SELECT o.id, o.created_at, o.type, o.amount,
+                   cf.card_number AS from_card,
+                   ct.card_number AS to_card
+            FROM card_operations o
+                     LEFT JOIN cards cf ON cf.id = o.from_card_id
+                     LEFT JOIN cards ct ON ct.id = o.to_card_id
+            WHERE o.created_at < ?
+              AND o.applied = true
+            ORDER BY o.created_at, o.id
+            LIMIT ?
+            FOR UPDATE OF o SKIP LOCKED
+            """;
+
+    private static final String AUDIT_LOGS_EXPORT = """
+            SELECT id, created_at, actor_user_id, actor_role, action, entity_type, entity_id, details
+            FROM audit_logs
+            WHERE created_at < ?
+            ORDER BY created_at, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveSegmentStore segmentStore;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public ArchiveService(
+            JdbcTemplate jdbcTemplate,
+            ArchiveSegmentStore segmentStore,
+            ArchiveProperties properties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.segmentStore = segmentStore;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${application.archive.cron:0 30 2 * * ?}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofDays(properties.getCutoffDays()));
+
+        for (ArchiveTable table : ArchiveTable.values()) {
+            long total = 0;
+            int archived;
+            do {
+                Integer batch = transactionTemplate.execute(status -> archiveBatch(table, cutoff));
+                archived = batch == null ? 0 : batch;
+                total += archived;
+            } while (archived == properties.getBatchSize());
+
+            log.info("Archived {} rows of {} older than {}", total, table.getTableName(), cutoff);
+        }
+    }
+
+    private int archiveBatch(ArchiveTable table, Instant cutoff) {
+        List<String[]> rows = jdbcTemplate.query(
+                exportQuery(table),
+                (rs, rowNum) -> toValues(rs, table),
+                Timestamp.from(cutoff),
+                properties.getBatchSize()
+        );
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<LocalDate, List<String[]>> byDay = new LinkedHashMap<>();
+        for (String[] row : rows) {
+            LocalDate day = LocalDate.ofInstant(Instant.parse(row[1]), ZoneOffset.UTC);
+            byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(row);
+        }
+        byDay.forEach((day, dayRows) -> segmentStore.write(table, day, dayRows));
+
+        // Строки отсортированы по created_at: границы диапазона отсекают лишние партиции
+        Long[] ids = rows.stream().map(row -> Long.parseLong(row[0])).toArray(Long[]::new);
+        jdbcTemplate.update(
+                "DELETE FROM " + table.getTableName() + " WHERE id = ANY(?) AND created_at BETWEEN ? AND ?",
+                ids,
+                Timestamp.from(Instant.parse(rows.get(0)[1])),
+                Timestamp.from(Instant.parse(rows.get(rows.size() - 1)[1]))
+        );
+        return rows.size();
+    }
+
+    private static String[] toValues(ResultSet rs, ArchiveTable table) throws SQLException {
+        List<String> columns = table.getColumns();
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            values[i] = "created_at".equals(columns.get(i))
+                    ? rs.getTimestamp(i + 1).toInstant().toString()
+                    : rs.getString(i + 1);
+        }
+        return values;
+    }
+
+    private static String exportQuery(ArchiveTable table) {
+        return switch (table) {
+            case CARD_OPERATIONS -> CARD_OPERATIONS_EXPORT;
+            case AUDIT_LOGS -> AUDIT_LOGS_EXPORT;
+        };
+    }
+}
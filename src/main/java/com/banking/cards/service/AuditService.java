@@ -5,6 +5,7 @@ import com.banking.cards.common.audit.AuditEntityType;
 import com.banking.cards.entity.AuditLog;
 import com.banking.cards.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,12 +14,16 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuditService {
 
+    // Ключ MDC, который заполняет Micrometer Tracing
+    private static final String TRACE_ID = "traceId";
+
     private final AuditLogRepository auditLogRepository;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -35,13 +40,36 @@ public class AuditService {
                 .action(action)
                 .entityType(entityType)
                 .entityId(entityId)
-                .details(details)
+                .details(withTraceId(details))
                 .createdAt(Instant.now())
                 .build();
 
         auditLogRepository.save(log);
     }
 
+    /**
+     * Пишет записи аудита одной транзакцией и одной JDBC-пачкой.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void logAll(List<Entry> entries) {
+        String actorUserId = currentUserId();
+        String actorRole = currentRole();
+        Instant now = Instant.now();
+        String traceId = MDC.get(TRACE_ID);
+
+        auditLogRepository.saveAll(entries.stream()
+                .map(entry -> AuditLog.builder()
+                        .actorUserId(actorUserId)
+                        .actorRole(actorRole)
+                        .action(entry.action())
+                        .entityType(entry.entityType())
+                        .entityId(entry.entityId())
+                        .details(withTraceId(entry.details(), traceId))
+                        .createdAt(now)
+                        .build())
+                .toList());
+    }
+
     public String currentUserId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
@@ -62,6 +90,22 @@ public class AuditService {
         );
     }
 
+    /**
+     * Дописывает id трейса, чтобы по записи аудита найти спаны и логи операции.
+     */
+    private static String withTraceId(String details) {
+        return withTraceId(details, MDC.get(TRACE_ID));
+    }
+
+    private static String withTraceId(String details, String traceId) {
+        if (traceId == null || traceId.isEmpty()) {
+            return details;
+        }
+        return details == null || details.isEmpty()
+                ? "traceId=" + traceId
+                : details + ";traceId=" + traceId;
+    }
+
     private String currentRole() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return auth.getAuthorities()
@@ -70,4 +114,6 @@ public class AuditService {
                 .map(GrantedAuthority::getAuthority)
                 .orElse("UNKNOWN");
     }
+
+    public record Entry(AuditAction action, AuditEntityType entityType, String entityId, String details) {}
 }
@@ -0,0 +1,53 @@
+package com.banking.cards.service;
+
+import com.banking.cards.entity.Card;
+import com.banking.cards.repository.CardBalanceShardRepository;
+import com.banking.cards.repository.CardOperationRepository;
+import com.banking.cards.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * Баланс карты для отображения.
+ * <p>
+ * У обычной карты это {@code cards.balance}. У hot-карты к нему добавляются зачисления,
+ * которые уже записаны в {@code card_operations}, но ещё не перенесены агрегатором.
+ * Списания проверяют только перенесённый баланс, поэтому средства, ещё не попавшие
+ * в {@code cards.balance}, становятся доступными через {@code hot-cards.flush-interval}.
+ * У шардированной карты баланс — сумма строк {@code card_balance_shards}.
+ */
+@Service
+@RequiredArgsConstructor
+public class CardBalanceService {
+
+    private final CardRepository cardRepository;
+    private final CardOperationRepository cardOperationRepository;
+    private final CardBalanceShardRepository cardBalanceShardRepository;
+
+    public BigDecimal currentBalance(Card card) {
+        if (card.getId() == null) {
+            return card.getBalance();
+        }
+        if (card.getBalanceShards() > 0) {
+            return cardBalanceShardRepository.sumBalance(card.getId());
+        }
+        if (card.isHot()) {
+            return cardRepository.findBalanceWithPendingCredits(card.getId());
+        }
+        return card.getBalance();
+    }
+
+    /**
+     * Есть ли у карты средства вне {@code cards.balance}: неперенесённые зачисления или шарды.
+     * Проверка без флага hot: у карты, только что выведенной из hot-режима, перенос мог ещё не пройти.
+     */
+    public boolean hasUnsettledFunds(Card card) {
+        if (card.getBalanceShards() > 0
+                && cardBalanceShardRepository.sumBalance(card.getId()).signum() != 0) {
+            return true;
+        }
+        return cardOperationRepository.existsByToCard_IdAndAppliedFalse(card.getId());
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -17,36 +18,61 @@ import java.time.Instant;
 public class CardOperationService {
 
     private final CardOperationRepository repository;
+    private final LedgerService ledgerService;
 
     public void logDeposit(Card card, BigDecimal amount) {
-        save(null, card, CardOperationType.DEPOSIT, amount);
+        save(null, card, CardOperationType.DEPOSIT, amount, !card.isHot());
         log.info("Deposit {} to card {}", amount, card.getCardNumber());
     }
 
     public void logWithdraw(Card card, BigDecimal amount) {
-        save(card, null, CardOperationType.WITHDRAW, amount);
+        save(card, null, CardOperationType.WITHDRAW, amount, true);
         log.info("Withdraw {} from card {}", amount, card.getCardNumber());
     }
 
     public void logTransfer(Card from, Card to, BigDecimal amount) {
-        save(from, to, CardOperationType.TRANSFER, amount);
+        save(from, to, CardOperationType.TRANSFER, amount, !to.isHot());
         log.info("Transfer card from: {} to: {}", from.getCardNumber(), to.getCardNumber());
     }
 
+    /**
+     * Пишет операции пакетного перевода одним saveAll: INSERT'ы уходят JDBC-пачками, проводки — тоже.
+     */
+    public void logTransfers(List<Transfer> transfers) {
+        Instant now = Instant.now();
+        List<CardOperation> operations = repository.saveAll(transfers.stream()
+                .map(transfer -> CardOperation.builder()
+                        .fromCard(transfer.from())
+                        .toCard(transfer.to())
+                        .type(CardOperationType.TRANSFER)
+                        .amount(transfer.amount())
+                        .createdAt(now)
+                        .applied(!transfer.to().isHot())
+                        .build())
+                .toList());
+        ledgerService.recordAll(operations);
+        log.info("Batch of {} transfers logged", operations.size());
+    }
+
     private void save(
             Card from,
             Card to,
             CardOperationType type,
-            BigDecimal amount
+            BigDecimal amount,
+            boolean applied
     ) {
-        repository.save(
+        CardOperation operation = repository.save(
                 CardOperation.builder()
                         .fromCard(from)
                         .toCard(to)
                         .type(type)
                         .amount(amount)
                         .createdAt(Instant.now())
+                        .applied(applied)
                         .build()
         );
+        ledgerService.record(operation);
     }
-}
\ No newline at end of file
+
+    public record Transfer(Card from, Card to, BigDecimal amount) {}
+}
@@ -0,0 +1,40 @@
+package com.banking.cards.service;
+
+import com.banking.cards.repository.CardOperationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Переносит зачисления на hot-карты из {@code card_operations} в {@code cards.balance}.
+ * <p>
+ * Зачисление на hot-карту не обновляет строку {@code cards} (и её {@code @Version}), а только
+ * добавляет операцию с {@code applied = false}. Раз в {@code flush-interval} накопленные суммы
+ * переносятся одним UPDATE на карту, так что тысячи пополнений в минуту не конкурируют за одну строку.
+ */
+@Slf4j
+@Component
+public class HotCardBalanceAggregator {
+
+    private final CardOperationRepository cardOperationRepository;
+    private final int batchSize;
+
+    public HotCardBalanceAggregator(
+            CardOperationRepository cardOperationRepository,
+            @Value("${application.hot-cards.batch-size:5000}") int batchSize
+    ) {
+        this.cardOperationRepository = cardOperationRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${application.hot-cards.flush-interval:1000}")
+    public void flush() {
+        int cards = cardOperationRepository.applyPendingCredits(batchSize);
+        if (cards > 0) {
+            log.debug("Applied pending credits to {} hot cards", cards);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.banking.cards.service;
+
+import com.banking.cards.entity.IdempotencyKey;
+import com.banking.cards.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Идемпотентность денежных операций по заголовку {@code Idempotency-Key}.
+ * <p>
+ * Ключ записывается в {@code idempotency_keys} в той же транзакции, что и сама операция, поэтому
+ * строка существует тогда и только тогда, когда операция закоммичена. Повтор с тем же ключом
+ * возвращает сохранённый результат (успех) и не трогает {@code cards}. Если операция упала,
+ * ключа нет и клиент может повторить запрос.
+ * <p>
+ * Параллельный дубль упирается в уникальный индекс (user_key, idempotency_key): вставка ждёт
+ * коммита первой транзакции и падает, после чего запрос отвечает как повтор.
+ * Недавние ключи дополнительно держатся в LRU-кэше узла, чтобы частые ретраи не ходили в БД.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final IdempotencyKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long retentionMs;
+    private final Map<String, String> recentRequestHashes;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository repository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${application.idempotency.retention:86400000}") long retentionMs,
+            @Value("${application.idempotency.cache-size:10000}") int cacheSize
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.retentionMs = retentionMs;
+        this.recentRequestHashes = Collections.synchronizedMap(new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Выполняет операцию не более одного раза для пары (пользователь, ключ).
+     *
+     * @return {@code true}, если операция уже была выполнена ранее и сейчас не выполнялась
+     */
+    public boolean execute(UUID userId, String key, String operation, Object request, Runnable action) {
+        if (StringUtils.isBlank(key) || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = userId + ":" + key;
+        String requestHash = hash(operation, request);
+
+        String cached = recentRequestHashes.get(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        Optional<IdempotencyKey> stored = repository.findByUserKeyAndIdempotencyKey(userId, key);
+        if (stored.isPresent()) {
+            return replay(remember(cacheKey, stored.get()), requestHash);
+        }
+
+        try {
+            IdempotencyKey saved = transactionTemplate.execute(status -> {
+                // flush до операции: дубль отсекается на индексе раньше, чем тронет баланс
+                IdempotencyKey entity = repository.saveAndFlush(IdempotencyKey.builder()
+                        .userKey(userId)
+                        .idempotencyKey(key)
+                        .operation(operation)
+                        .requestHash(requestHash)
+                        .createdAt(Instant.now())
+                        .build());
+                action.run();
+                return entity;
+            });
+            remember(cacheKey, saved);
+            return false;
+        } catch (DataIntegrityViolationException e) {
+            // Параллельный запрос с тем же ключом закоммитил операцию первым
+            IdempotencyKey winner = repository.findByUserKeyAndIdempotencyKey(userId, key)
+                    .orElseThrow(() -> e);
+            log.info("Concurrent duplicate for idempotency key {} of user {}", key, userId);
+            return replay(remember(cacheKey, winner), requestHash);
+        }
+    }
+
+    @Scheduled(cron = "0 45 3 * * ?")
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(Instant.now().minusMillis(retentionMs));
+        // Кэш чистится вместе с таблицей, чтобы узел не отвечал повтором на ключ, которого уже нет в БД
+        recentRequestHashes.clear();
+        log.info("Purged {} expired idempotency keys", purged);
+    }
+
+    private boolean replay(String storedRequestHash, String requestHash) {
+        if (!storedRequestHash.equals(requestHash)) {
+            throw new IllegalStateException("Idempotency key was already used for a different request");
+        }
+        return true;
+    }
+
+    private String remember(String cacheKey, IdempotencyKey key) {
+        recentRequestHashes.put(cacheKey, key.getRequestHash());
+        return key.getRequestHash();
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+}
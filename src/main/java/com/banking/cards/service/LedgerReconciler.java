@@ -0,0 +1,142 @@
+package com.banking.cards.service;
+
+import com.banking.cards.entity.LedgerCheckpoint;
+import com.banking.cards.repository.CardAmount;
+import com.banking.cards.repository.CardRepository;
+import com.banking.cards.repository.LedgerCheckpointRepository;
+import com.banking.cards.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Инкрементальная сверка материализованных балансов с журналом проводок.
+ * <p>
+ * Для каждой карты хранится checkpoint — баланс по журналу до некоторой проводки. Прогон берёт только
+ * проводки после общего водяного знака, прибавляет их к checkpoint'ам затронутых карт и сравнивает
+ * результат (плюс самый свежий хвост журнала) с {@code cards.balance}, шардами и неперенесёнными
+ * зачислениями. Журнал целиком не сканируется никогда.
+ * <p>
+ * Всё читается в одном снимке REPEATABLE READ, поэтому проводки и балансы согласованы между собой.
+ * Водяной знак двигается только до проводок старше {@code settle-lag}: id выдаются до коммита,
+ * и более свежая проводка с меньшим id может стать видимой позже.
+ */
+@Slf4j
+@Component
+public class LedgerReconciler {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final CardRepository cardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long settleLagMs;
+
+    public LedgerReconciler(
+            LedgerEntryRepository ledgerEntryRepository,
+            LedgerCheckpointRepository checkpointRepository,
+            CardRepository cardRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.ledger.settle-lag:600000}") long settleLagMs
+    ) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.cardRepository = cardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.settleLagMs = settleLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${application.ledger.reconcile-interval:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (ConcurrencyFailureException e) {
+            // Прогон уже идёт на другом узле или только что завершился — водяной знак не сдвигаем
+            log.debug("Ledger reconciliation skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return число карт, у которых материализованный баланс разошёлся с журналом
+     */
+    public int reconcile() {
+        Integer mismatches = transactionTemplate.execute(status -> reconcileInSnapshot());
+        return mismatches == null ? 0 : mismatches;
+    }
+
+    private int reconcileInSnapshot() {
+        long watermark = checkpointRepository.lockWatermark();
+        Instant now = Instant.now();
+        long upTo = ledgerEntryRepository.findSettledWatermark(watermark, now.minusMillis(settleLagMs));
+        if (upTo <= watermark) {
+            return 0;
+        }
+
+        Map<Long, BigDecimal> deltas = toMap(ledgerEntryRepository.sumByCardInRange(watermark, upTo));
+        if (deltas.isEmpty()) {
+            checkpointRepository.advanceWatermark(upTo, now);
+            return 0;
+        }
+
+        Map<Long, LedgerCheckpoint> checkpoints = checkpointRepository.findAllById(deltas.keySet()).stream()
+                .collect(Collectors.toMap(LedgerCheckpoint::getCardId, Function.identity()));
+        Map<Long, BigDecimal> tails = toMap(ledgerEntryRepository.sumByCardAfter(upTo, deltas.keySet()));
+        Map<Long, BigDecimal> materialized = toMap(cardRepository.findMaterializedBalances(deltas.keySet()));
+
+        int mismatches = 0;
+        List<LedgerCheckpoint> updated = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, BigDecimal> delta : deltas.entrySet()) {
+            Long cardId = delta.getKey();
+            LedgerCheckpoint checkpoint = checkpoints.getOrDefault(cardId, LedgerCheckpoint.builder()
+                    .cardId(cardId)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            checkpoint.setBalance(checkpoint.getBalance().add(delta.getValue()));
+            checkpoint.setLastEntryId(upTo);
+            checkpoint.setVerifiedAt(now);
+
+            BigDecimal expected = checkpoint.getBalance().add(tails.getOrDefault(cardId, BigDecimal.ZERO));
+            BigDecimal actual = materialized.get(cardId);
+
+            if (actual == null) {
+                // Карта удалена: по журналу на ней не должно остаться денег
+                if (expected.signum() != 0) {
+                    log.error("Ledger balance {} for deleted card id {}", expected, cardId);
+                    mismatches++;
+                }
+                continue;
+            }
+            if (expected.compareTo(actual) != 0) {
+                log.error("Ledger mismatch for card id {}: ledger={}, materialized={}", cardId, expected, actual);
+                mismatches++;
+            }
+            updated.add(checkpoint);
+        }
+
+        checkpointRepository.saveAll(updated);
+        checkpointRepository.advanceWatermark(upTo, now);
+
+        log.info("Ledger reconciled up to entry {}: {} cards checked, {} mismatches", upTo, deltas.size(), mismatches);
+        return mismatches;
+    }
+
+    private static Map<Long, BigDecimal> toMap(List<CardAmount> amounts) {
+        return amounts.stream()
+                .filter(a -> Objects.nonNull(a.getAmount()))
+                .collect(Collectors.toMap(CardAmount::getCardId, CardAmount::getAmount));
+    }
+}
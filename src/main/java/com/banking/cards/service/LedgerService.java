@@ -0,0 +1,87 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.LedgerEntryKind;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.CardOperation;
+import com.banking.cards.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запись проводок в {@code ledger_entries} — источник истины для балансов.
+ * <p>
+ * Каждая операция даёт две ноги с противоположными знаками: списание с карты-источника
+ * и зачисление на карту-получатель. Пополнение и снятие идут против внешнего счёта банка
+ * ({@code card_id = NULL}). Проводки пишутся в той же транзакции, что и изменение баланса,
+ * поэтому {@code cards.balance} — это кэш, который всегда можно проверить по журналу.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class LedgerService {
+
+    private static final String INSERT_LEG = """
+            INSERT INTO ledger_entries (operation_id, card_id, kind, amount, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final int[] LEG_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.NUMERIC, Types.TIMESTAMP};
+
+    private final LedgerEntryRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void record(CardOperation operation) {
+        repository.insertLegs(
+                operation.getId(),
+                idOf(operation.getFromCard()),
+                idOf(operation.getToCard()),
+                operation.getType().name(),
+                operation.getAmount(),
+                operation.getCreatedAt()
+        );
+    }
+
+    /**
+     * Проводки пачки операций одним JDBC-батчем вместо INSERT'а на каждую операцию.
+     */
+    public void recordAll(List<CardOperation> operations) {
+        List<Object[]> legs = new ArrayList<>(operations.size() * 2);
+        for (CardOperation operation : operations) {
+            Timestamp createdAt = Timestamp.from(operation.getCreatedAt());
+            String kind = operation.getType().name();
+            legs.add(new Object[]{operation.getId(), idOf(operation.getFromCard()), kind, operation.getAmount().negate(), createdAt});
+            legs.add(new Object[]{operation.getId(), idOf(operation.getToCard()), kind, operation.getAmount(), createdAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_LEG, legs, LEG_TYPES);
+    }
+
+    /**
+     * Входящий остаток карты, созданной сразу с балансом.
+     */
+    public void recordOpeningBalance(Card card) {
+        if (card.getBalance() == null || card.getBalance().signum() == 0) {
+            return;
+        }
+        repository.insertLegs(
+                null,
+                null,
+                card.getId(),
+                LedgerEntryKind.OPENING.name(),
+                card.getBalance(),
+                Instant.now()
+        );
+    }
+
+    private static Long idOf(Card card) {
+        return card == null ? null : card.getId();
+    }
+}
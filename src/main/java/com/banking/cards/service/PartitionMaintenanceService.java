@@ -0,0 +1,107 @@
+package com.banking.cards.service;
+
+import com.banking.cards.config.PartitionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Обслуживание месячных партиций таблиц, партиционированных по {@code created_at}.
+ * <p>
+ * Строки месяца без своей партиции попадают в DEFAULT-партицию, после чего создать партицию
+ * на этот месяц уже нельзя, поэтому партиции создаются с запасом в {@code months-ahead} месяцев.
+ * Сама DDL живёт в функции {@code create_monthly_partition} (миграция V-1.12), вызов идемпотентен.
+ * <p>
+ * Партиции старше {@code retention-months} полных месяцев отсоединяются (остаются обычными
+ * таблицами до архивации) или удаляются. Это быстрее и не оставляет мёртвых строк, в отличие от DELETE.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionMaintenanceService {
+
+    private static final String PARTITIONS_QUERY = """
+            SELECT c.relname
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+                     JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void maintain() {
+        YearMonth currentMonth = YearMonth.now();
+
+        for (PartitionProperties.Table table : properties.getTables()) {
+            try {
+                createUpcomingPartitions(table, currentMonth);
+                if (table.getRetentionMonths() > 0) {
+                    applyRetention(table, currentMonth.minusMonths(table.getRetentionMonths()));
+                }
+            } catch (DataAccessException e) {
+                // Ошибка по одной таблице не должна мешать обслуживанию остальных
+                log.error("Partition maintenance failed for table {}", table.getName(), e);
+            }
+        }
+    }
+
+    private void createUpcomingPartitions(PartitionProperties.Table table, YearMonth currentMonth) {
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            LocalDate monthStart = currentMonth.plusMonths(i).atDay(1);
+            String partition = jdbcTemplate.queryForObject(
+                    "SELECT create_monthly_partition(?, ?)",
+                    String.class,
+                    table.getName(),
+                    Date.valueOf(monthStart)
+            );
+            log.debug("Partition {} is ready", partition);
+        }
+    }
+
+    /**
+     * Отсоединяет или удаляет партиции за месяцы раньше {@code oldestKept}.
+     * DEFAULT-партиция и партиции с нестандартными именами не трогаются.
+     */
+    private void applyRetention(PartitionProperties.Table table, YearMonth oldestKept) {
+        Pattern monthly = Pattern.compile(Pattern.quote(table.getName()) + "_y(\\d{4})m(\\d{2})");
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class, table.getName());
+
+        for (String partition : partitions) {
+            Matcher matcher = monthly.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+
+            if (table.getRetentionAction() == PartitionProperties.RetentionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + quote(partition));
+            } else {
+                jdbcTemplate.execute("ALTER TABLE " + quote(table.getName()) + " DETACH PARTITION " + quote(partition));
+            }
+            log.info("Partition {} of {} is past retention: {}", partition, table.getName(), table.getRetentionAction());
+        }
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
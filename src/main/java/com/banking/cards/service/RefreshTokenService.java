@@ -0,0 +1,122 @@
+package com.banking.cards.service;
+
+import com.banking.cards.dto.response.JwtResponse;
+import com.banking.cards.entity.RefreshToken;
+import com.banking.cards.entity.User;
+import com.banking.cards.repository.RefreshTokenRepository;
+import com.banking.cards.security.JwtService;
+import com.banking.cards.security.SecurityUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Непрозрачные refresh-токены: позволяют держать access-токены короткими,
+ * не заставляя пользователя каждый раз проходить BCrypt-логин.
+ * <p>
+ * В БД хранится только SHA-256 от токена. Каждый refresh выдаёт новый токен и отзывает старый;
+ * повторное предъявление уже отозванного токена считается утечкой и отзывает все токены пользователя.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository repository;
+    private final JwtService jwtService;
+    private final long refreshExpirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository repository,
+            JwtService jwtService,
+            @Value("${application.security.jwt.refresh-expiration}") long refreshExpirationMs
+    ) {
+        this.repository = repository;
+        this.jwtService = jwtService;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        repository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .user(user)
+                .expiresAt(now.plusMillis(refreshExpirationMs))
+                .revoked(false)
+                .createdAt(now)
+                .build());
+
+        return rawToken;
+    }
+
+    // Без отката: отзыв всех токенов при повторном использовании должен сохраниться
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public JwtResponse refresh(String rawToken) {
+        String tokenHash = hash(rawToken);
+        RefreshToken token = repository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        User user = token.getUser();
+
+        if (token.isRevoked()) {
+            throw reuseDetected(user);
+        }
+        if (token.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        // Отзыв — атомарный UPDATE ... WHERE revoked = false: прочитанный флаг мог устареть,
+        // пока параллельный refresh с тем же токеном уже выдал новую пару
+        if (repository.revokeIfActive(tokenHash) == 0) {
+            throw reuseDetected(user);
+        }
+
+        return new JwtResponse(
+                jwtService.generateToken(new SecurityUser(user)),
+                issue(user)
+        );
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        repository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> token.setRevoked(true));
+    }
+
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(Instant.now());
+        log.info("Purged {} expired refresh tokens", purged);
+    }
+
+    private BadCredentialsException reuseDetected(User user) {
+        int revoked = repository.revokeAllByUser(user);
+        log.warn("Reuse of revoked refresh token for user {}, revoked {} tokens", user.getUniqueKey(), revoked);
+        return new BadCredentialsException("Invalid refresh token");
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.Constants;
+import com.banking.cards.common.Role;
+import com.banking.cards.common.ScheduledTransferStatus;
+import com.banking.cards.config.ScheduledTransferProperties;
+import com.banking.cards.entity.ScheduledTransfer;
+import com.banking.cards.repository.ScheduledTransferRepository;
+import com.banking.cards.service.user.UserCardOperationService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Выполняет запланированные переводы, срок которых наступил.
+ * <p>
+ * Каждый узел раз в {@code poll-interval} захватывает пачку строк через {@code FOR UPDATE SKIP LOCKED}:
+ * строки, которые уже разбирает другой узел, пропускаются, а не ждут. Захват помечает строку RUNNING
+ * со своим токеном и сроком аренды и сразу коммитится, так что сами переводы не держат блокировки пачки.
+ * <p>
+ * Каждый перевод выполняется в отдельной транзакции вместе с отметкой DONE: строка перечитывается
+ * с блокировкой, и если токен уже не наш (аренда истекла и перевод забрал другой узел), перевод
+ * пропускается. Поэтому один перевод не выполняется дважды, даже если узел завис дольше аренды.
+ * <p>
+ * Отказ по бизнес-причине (нет средств, карта заблокирована или удалена) окончательный — FAILED.
+ * Прочие ошибки, в том числе повторяемые {@link IllegalStateException} вроде смены раскладки шардов,
+ * возвращают перевод в PENDING с паузой, пока не кончатся {@code max-attempts}.
+ */
+@Slf4j
+@Component
+public class ScheduledTransferExecutor {
+
+    private static final String CLAIM = """
+            WITH due AS (
+                SELECT id
+                FROM scheduled_transfers
+                WHERE (status = 'PENDING' AND due_at <= ?)
+                   OR (status = 'RUNNING' AND lease_until <= ?)
+                ORDER BY due_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE scheduled_transfers t
+            SET status = 'RUNNING', claim_token = ?, lease_until = ?, attempts = t.attempts + 1
+            FROM due
+            WHERE t.id = due.id
+            RETURNING t.id
+            """;
+
+    // Освобождение захвата: только если строку с тех пор не забрал другой узел
+    private static final String RELEASE = """
+            UPDATE scheduled_transfers
+            SET status = ?, due_at = ?, last_error = ?, claim_token = NULL, lease_until = NULL
+            WHERE id = ? AND claim_token = ?
+            """;
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final UserCardOperationService userCardOperationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledTransferProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public ScheduledTransferExecutor(
+            ScheduledTransferRepository scheduledTransferRepository,
+            UserCardOperationService userCardOperationService,
+            JdbcTemplate jdbcTemplate,
+            ScheduledTransferProperties properties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.userCardOperationService = userCardOperationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${application.scheduled-transfers.poll-interval:1000}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        int claimed;
+        do {
+            UUID token = UUID.randomUUID();
+            List<Long> ids = claim(token);
+            ids.forEach(id -> execute(id, token));
+            claimed = ids.size();
+        } while (claimed == properties.getBatchSize());
+    }
+
+    List<Long> claim(UUID token) {
+        Instant now = Instant.now();
+        List<Long> ids = transactionTemplate.execute(status -> jdbcTemplate.queryForList(
+                CLAIM,
+                Long.class,
+                Timestamp.from(now),
+                Timestamp.from(now),
+                properties.getBatchSize(),
+                token,
+                Timestamp.from(now.plusMillis(properties.getLease()))
+        ));
+        return ids == null ? List.of() : ids;
+    }
+
+    void execute(Long id, UUID token) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ScheduledTransfer transfer = scheduledTransferRepository.lockById(id).orElse(null);
+                if (transfer == null
+                        || transfer.getStatus() != ScheduledTransferStatus.RUNNING
+                        || !token.equals(transfer.getClaimToken())) {
+                    log.debug("Scheduled transfer {} was reclaimed by another node, skipping", id);
+                    return;
+                }
+
+                runAs(transfer.getUserKey(), () -> userCardOperationService.transfer(
+                        transfer.getFromCard().getCardNumber(),
+                        transfer.getToCard().getCardNumber(),
+                        transfer.getAmount(),
+                        transfer.getUserKey()
+                ));
+
+                transfer.setStatus(ScheduledTransferStatus.DONE);
+                transfer.setExecutedAt(Instant.now());
+                transfer.setClaimToken(null);
+                transfer.setLeaseUntil(null);
+            });
+        } catch (RuntimeException e) {
+            if (isRefusal(e)) {
+                log.info("Scheduled transfer {} rejected: {}", id, e.getMessage());
+                release(id, token, ScheduledTransferStatus.FAILED, Instant.now(), e.getMessage());
+            } else {
+                log.warn("Scheduled transfer {} failed, will retry", id, e);
+                retryOrFail(id, token, e);
+            }
+        }
+    }
+
+    /**
+     * Отказ, который повтор не исправит: нет средств, карта не активна, карта или владелец удалены.
+     * Остальные {@link IllegalStateException} — гонки вроде смены раскладки шардов баланса,
+     * после которых перевод может пройти, поэтому они повторяются.
+     */
+    static boolean isRefusal(RuntimeException e) {
+        if (e instanceof IllegalStateException) {
+            return Constants.INSUFFICIENT_FUNDS.equals(e.getMessage())
+                    || Constants.CARD_NOT_ACTIVE.equals(e.getMessage());
+        }
+        return e instanceof IllegalArgumentException || e instanceof EntityNotFoundException;
+    }
+
+    // ===== HELPERS =====
+
+    private void retryOrFail(Long id, UUID token, RuntimeException e) {
+        Integer attempts = jdbcTemplate.queryForObject(
+                "SELECT attempts FROM scheduled_transfers WHERE id = ?", Integer.class, id);
+        int attempt = attempts == null ? properties.getMaxAttempts() : attempts;
+
+        if (attempt >= properties.getMaxAttempts()) {
+            release(id, token, ScheduledTransferStatus.FAILED, Instant.now(), e.getMessage());
+        } else {
+            release(id, token, ScheduledTransferStatus.PENDING,
+                    Instant.now().plusMillis(properties.getRetryBackoff() * attempt), e.getMessage());
+        }
+    }
+
+    private void release(Long id, UUID token, ScheduledTransferStatus status, Instant dueAt, String error) {
+        jdbcTemplate.update(RELEASE, status.name(), Timestamp.from(dueAt), truncate(error), id, token);
+    }
+
+    /**
+     * Аудит перевода пишется от имени владельца, как если бы он вызвал перевод сам.
+     */
+    private static void runAs(UUID userKey, Runnable action) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                userKey.toString(),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + Role.USER.name()))
+        ));
+        SecurityContextHolder.setContext(context);
+        try {
+            action.run();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 255 ? error : error.substring(0, 255);
+    }
+}
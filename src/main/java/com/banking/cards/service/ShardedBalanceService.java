@@ -0,0 +1,124 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.Constants;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.CardBalanceShard;
+import com.banking.cards.repository.CardBalanceShardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Баланс карты, разложенный на N строк {@code card_balance_shards}.
+ * <p>
+ * Одна строка {@code cards} — потолок пропускной способности: все пополнения и списания карты
+ * выстраиваются в очередь на её блокировке. В шардированном режиме пополнение попадает в случайный
+ * шард, а списание пробует шарды по кругу условным UPDATE ({@code balance >= amount}), поэтому
+ * параллельные операции чаще всего блокируют разные строки. Если ни в одном шарде нет всей суммы,
+ * шарды блокируются целиком и баланс собирается в нулевой шард одним UPDATE. Сущности шардов
+ * в контекст персистентности не загружаются: все изменения идут UPDATE'ами мимо него, и загруженные
+ * значения устарели бы, если одна транзакция (пакетный перевод) трогает карту несколько раз.
+ * <p>
+ * Сначала берутся только шарды, не заблокированные другими транзакциями ({@code SKIP LOCKED}), и лишь
+ * когда заняты все подходящие — ожидается блокировка. Иначе два встречных перевода между шардированными
+ * картами брали бы шарды в разном порядке и упирались в deadlock.
+ * <p>
+ * Методы работают только внутри транзакции операции, чтобы изменение шарда и запись в
+ * {@code card_operations} фиксировались вместе.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class ShardedBalanceService {
+
+    public static final int MAX_SHARDS = 64;
+
+    private final CardBalanceShardRepository repository;
+
+    public BigDecimal balance(Card card) {
+        return repository.sumBalance(card.getId());
+    }
+
+    public void deposit(Card card, BigDecimal amount) {
+        int count = card.getBalanceShards();
+        int start = ThreadLocalRandom.current().nextInt(count);
+
+        for (int i = 0; i < count; i++) {
+            if (repository.tryCreditUnlocked(card.getId(), (start + i) % count, amount) == 1) {
+                return;
+            }
+        }
+
+        // Заняты все шарды (или они удалены) — ждём блокировки одного
+        if (repository.credit(card.getId(), start, amount) == 0) {
+            // Шарды удалены параллельным отключением режима — операцию нужно повторить
+            throw new IllegalStateException("Card balance layout changed, retry the operation");
+        }
+    }
+
+    public void withdraw(Card card, BigDecimal amount) {
+        int count = card.getBalanceShards();
+        int start = ThreadLocalRandom.current().nextInt(count);
+
+        for (int i = 0; i < count; i++) {
+            if (repository.tryDebitUnlocked(card.getId(), (start + i) % count, amount) == 1) {
+                return;
+            }
+        }
+        // Шарды с нужной суммой могли быть заняты — повторяем с ожиданием блокировки
+        for (int i = 0; i < count; i++) {
+            if (repository.tryDebit(card.getId(), (start + i) % count, amount) == 1) {
+                return;
+            }
+        }
+
+        consolidate(card);
+        if (repository.tryDebit(card.getId(), 0, amount) == 0) {
+            throw new IllegalStateException(Constants.INSUFFICIENT_FUNDS);
+        }
+    }
+
+    /**
+     * Переводит карту в шардированный режим: текущий баланс переносится в нулевой шард.
+     */
+    public void enable(Card card, int shards) {
+        if (shards < 2 || shards > MAX_SHARDS) {
+            throw new IllegalArgumentException("Balance shards must be between 2 and " + MAX_SHARDS);
+        }
+        if (card.getBalanceShards() > 0) {
+            disable(card);
+        }
+
+        for (int shard = 0; shard < shards; shard++) {
+            repository.save(CardBalanceShard.builder()
+                    .cardId(card.getId())
+                    .shard(shard)
+                    .balance(shard == 0 ? card.getBalance() : BigDecimal.ZERO)
+                    .build());
+        }
+        card.setBalance(BigDecimal.ZERO);
+        card.setBalanceShards(shards);
+    }
+
+    /**
+     * Возвращает баланс из шардов в {@code cards.balance} и удаляет шарды.
+     */
+    public void disable(Card card) {
+        repository.lockAllByCardId(card.getId());
+        BigDecimal total = repository.sumBalance(card.getId());
+
+        repository.deleteAllByCardId(card.getId());
+        card.setBalance(card.getBalance().add(total));
+        card.setBalanceShards(0);
+    }
+
+    private void consolidate(Card card) {
+        // Под блокировкой всех шардов сумма не может измениться до конца транзакции
+        repository.lockAllByCardId(card.getId());
+        repository.consolidate(card.getId());
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.cards.service.admin;
+
+import com.banking.cards.common.ArchiveTable;
+import com.banking.cards.config.ArchiveProperties;
+import com.banking.cards.dto.response.ArchivedRecordDto;
+import com.banking.cards.mapper.CardMapper;
+import com.banking.cards.service.ArchiveSegmentStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class AdminArchiveService {
+
+    private final ArchiveSegmentStore segmentStore;
+    private final ArchiveProperties properties;
+    private final CardMapper cardMapper;
+
+    /**
+     * Поиск по архивным сегментам за дни с {@code from} по {@code to} включительно (UTC).
+     */
+    public List<ArchivedRecordDto> search(ArchiveTable table, String cardNumber, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        Instant start = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusNanos(1);
+
+        return segmentStore.search(table, cardNumber, start, end, properties.getSearchLimit()).stream()
+                .map(row -> toDto(table, row))
+                .toList();
+    }
+
+    private ArchivedRecordDto toDto(ArchiveTable table, String[] row) {
+        List<String> columns = table.getColumns();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 2; i < columns.size(); i++) {
+            String column = columns.get(i);
+            String value = row[i];
+            values.put(column, value != null && table.getCardColumns().contains(column)
+                    ? cardMapper.toMaskedCardNumber(value).toString()
+                    : value);
+        }
+        return new ArchivedRecordDto(Long.parseLong(row[0]), Instant.parse(row[1]), values);
+    }
+}
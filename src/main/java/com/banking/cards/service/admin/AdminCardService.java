@@ -15,6 +15,9 @@ import com.banking.cards.mapper.PageMapper;
 import com.banking.cards.repository.CardRepository;
 import com.banking.cards.repository.UserRepository;
 import com.banking.cards.service.AuditService;
+import com.banking.cards.service.CardBalanceService;
+import com.banking.cards.service.LedgerService;
+import com.banking.cards.service.ShardedBalanceService;
 import com.banking.cards.util.CardNumberGenerator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -39,10 +42,14 @@ public class AdminCardService {
     private final CardMapper mapper;
     private final CardSettingsConfig cardConfig;
     private final CardNumberGenerator cardNumberGenerator;
+    private final CardBalanceService cardBalanceService;
+    private final ShardedBalanceService shardedBalanceService;
+    private final LedgerService ledgerService;
 
     @Transactional
     public AdminCardDto createCard(AdminCreateCardRequest request) {
         Card saved = cardRepository.save(getCard(request));
+        ledgerService.recordOpeningBalance(saved);
 
         auditService.log(
                 AuditAction.CARD_CREATED,
@@ -58,7 +65,7 @@ public class AdminCardService {
     public void deleteCard(String cardId) {
         Card card = cardRepository.findByCardNumber(cardId)
                 .orElseThrow(() -> new EntityNotFoundException("Card not found"));
-        if (!card.getBalance().equals(BigDecimal.ZERO))
+        if (!card.getBalance().equals(BigDecimal.ZERO) || cardBalanceService.hasUnsettledFunds(card))
             throw new BadBalanceException("Card balance should be zero");
 
         cardRepository.delete(card);
@@ -92,6 +99,57 @@ public class AdminCardService {
         );
     }
 
+    @Transactional
+    public void changeHotMode(String cardNumber, boolean hot) {
+        Card card = cardRepository.findByCardNumber(cardNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Card not found"));
+
+        if (card.isHot() == hot) {
+            log.info("Card {} hot mode is already {}", cardNumber, hot);
+            return;
+        }
+        if (hot && card.getBalanceShards() > 0) {
+            throw new IllegalStateException("Card balance is sharded, disable sharding first");
+        }
+
+        card.setHot(hot);
+
+        auditService.log(
+                AuditAction.CARD_HOT_MODE_CHANGED,
+                AuditEntityType.CARD,
+                card.getCardNumber(),
+                "hot=" + hot
+        );
+    }
+
+    @Transactional
+    public void changeBalanceShards(String cardNumber, int shards) {
+        Card card = cardRepository.findByCardNumber(cardNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Card not found"));
+        int oldShards = card.getBalanceShards();
+
+        if (oldShards == shards) {
+            log.info("Card {} already has {} balance shards", cardNumber, shards);
+            return;
+        }
+        if (shards > 0 && card.isHot()) {
+            throw new IllegalStateException("Card is in hot mode, disable it first");
+        }
+
+        if (shards == 0) {
+            shardedBalanceService.disable(card);
+        } else {
+            shardedBalanceService.enable(card, shards);
+        }
+
+        auditService.log(
+                AuditAction.CARD_BALANCE_SHARDS_CHANGED,
+                AuditEntityType.CARD,
+                card.getCardNumber(),
+                "oldShards=" + oldShards + ";newShards=" + shards
+        );
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<AdminCardDto> getUserCards(UUID userId, Pageable pageable) {
 
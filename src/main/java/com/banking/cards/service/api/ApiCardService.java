@@ -12,6 +12,7 @@ import com.banking.cards.mapper.PageMapper;
 import com.banking.cards.repository.CardRepository;
 import com.banking.cards.repository.UserRepository;
 import com.banking.cards.service.AuditService;
+import com.banking.cards.service.LedgerService;
 import com.banking.cards.service.admin.AdminCardService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +32,7 @@ public class ApiCardService {
     private final CardMapper mapper;
     private final AuditService auditService;
     private final AdminCardService adminCardService;
+    private final LedgerService ledgerService;
 
     @Transactional(readOnly = true)
     public PageResponse<CardDto> getUserCards(UUID userId, Pageable pageable) {
@@ -50,6 +52,7 @@ public class ApiCardService {
             throw new IllegalArgumentException("Failed to create card");
         }
         Card saved = cardRepository.save(card);
+        ledgerService.recordOpeningBalance(saved);
         auditService.log(
                 AuditAction.CARD_CREATED,
                 AuditEntityType.CARD,
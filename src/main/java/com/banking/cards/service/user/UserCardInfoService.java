@@ -1,9 +1,11 @@
 package com.banking.cards.service.user;
 
+import com.banking.cards.config.PartitionProperties;
 import com.banking.cards.dto.response.CardDto;
 import com.banking.cards.dto.response.CardOperationDto;
 import com.banking.cards.dto.response.PageResponse;
 import com.banking.cards.entity.Card;
+import com.banking.cards.entity.CardOperation;
 import com.banking.cards.entity.User;
 import com.banking.cards.mapper.CardMapper;
 import com.banking.cards.mapper.PageMapper;
@@ -19,6 +21,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
 @Service
@@ -29,6 +34,7 @@ public class UserCardInfoService {
     private final CardOperationRepository operationRepository;
     private final UserRepository userRepository;
     private final CardMapper mapper;
+    private final PartitionProperties partitionProperties;
 
     @Transactional(readOnly = true)
     public PageResponse<CardDto> getUserCards(UUID userId, int page, int size) {
@@ -73,16 +79,21 @@ public class UserCardInfoService {
                 Sort.by("createdAt").descending()
         );
 
-        Page<CardOperationDto> operations =
-                operationRepository.findAllByFromCard_IdOrToCard_Id(
-                        card.getId(),
-                        card.getId(),
-                        pageable
-                ).map(mapper::toOperationDto);
+        Page<CardOperation> history = partitionProperties.getHistoryMonths() > 0
+                ? operationRepository.findCardHistory(card.getId(), historySince(), pageable)
+                : operationRepository.findAllByFromCard_IdOrToCard_Id(card.getId(), card.getId(), pageable);
+        Page<CardOperationDto> operations = history.map(mapper::toOperationDto);
 
         return PageMapper.toPageResponse(operations);
     }
 
+    // Окно истории (если задано) ограничивает запрос последними месячными партициями card_operations
+    private Instant historySince() {
+        return ZonedDateTime.now(ZoneOffset.UTC)
+                .minusMonths(partitionProperties.getHistoryMonths())
+                .toInstant();
+    }
+
     private User getUser(UUID userId) {
         return userRepository.findByUniqueKey(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
@@ -1,21 +1,31 @@
 package com.banking.cards.service.user;
 
 import com.banking.cards.common.CardStatus;
+import com.banking.cards.common.Constants;
 import com.banking.cards.common.audit.AuditAction;
 import com.banking.cards.common.audit.AuditEntityType;
+import com.banking.cards.dto.request.CardTransferRequest;
 import com.banking.cards.entity.Card;
 import com.banking.cards.entity.User;
 import com.banking.cards.repository.CardRepository;
 import com.banking.cards.repository.UserRepository;
 import com.banking.cards.service.AuditService;
 import com.banking.cards.service.CardOperationService;
+import com.banking.cards.service.ShardedBalanceService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +35,7 @@ public class UserCardOperationService {
     private final UserRepository userRepository;
     private final CardOperationService cardOperationService;
     private final AuditService auditService;
+    private final ShardedBalanceService shardedBalanceService;
 
     @Transactional
     public void transfer(String fromId, String toId, BigDecimal amount, UUID userId) {
@@ -36,12 +47,8 @@ public class UserCardOperationService {
         validateCardIsActive(from);
         validateCardIsActive(to);
 
-        if (from.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient funds");
-        }
-
-        from.setBalance(from.getBalance().subtract(amount));
-        to.setBalance(to.getBalance().add(amount));
+        debit(from, amount);
+        credit(to, amount);
 
         cardOperationService.logTransfer(from, to, amount);
 
@@ -62,6 +69,55 @@ public class UserCardOperationService {
 
     }
 
+    /**
+     * Выполняет переводы пакета по порядку в одной транзакции: если хоть один не проходит,
+     * не применяется ни один. Все карты пакета читаются одним запросом и блокируются в порядке id.
+     */
+    @Transactional
+    public void transferBatch(List<CardTransferRequest> legs, UUID userId) {
+        User user = getUser(userId);
+
+        Set<String> cardNumbers = new HashSet<>();
+        legs.forEach(leg -> {
+            cardNumbers.add(leg.fromCardId());
+            cardNumbers.add(leg.toCardId());
+        });
+
+        Map<String, Card> cards = cardRepository.lockAllByOwnerAndCardNumberIn(user, cardNumbers).stream()
+                .collect(Collectors.toMap(Card::getCardNumber, Function.identity()));
+        if (cards.size() != cardNumbers.size()) {
+            throw new EntityNotFoundException("Card not found");
+        }
+        cards.values().forEach(this::validateCardIsActive);
+
+        List<CardOperationService.Transfer> transfers = new ArrayList<>(legs.size());
+        List<AuditService.Entry> audits = new ArrayList<>(legs.size() * 2);
+        for (CardTransferRequest leg : legs) {
+            Card from = cards.get(leg.fromCardId());
+            Card to = cards.get(leg.toCardId());
+
+            debit(from, leg.amount());
+            credit(to, leg.amount());
+
+            transfers.add(new CardOperationService.Transfer(from, to, leg.amount()));
+            audits.add(new AuditService.Entry(
+                    AuditAction.CARD_TRANSFER_OUT,
+                    AuditEntityType.CARD,
+                    from.getCardNumber(),
+                    "to=" + to.getCardNumber() + ";amount=" + leg.amount()
+            ));
+            audits.add(new AuditService.Entry(
+                    AuditAction.CARD_TRANSFER_IN,
+                    AuditEntityType.CARD,
+                    to.getCardNumber(),
+                    "from=" + from.getCardNumber() + ";amount=" + leg.amount()
+            ));
+        }
+
+        cardOperationService.logTransfers(transfers);
+        auditService.logAll(audits);
+    }
+
     @Transactional
     public void deposit(String cardId, BigDecimal amount, UUID userId) {
         User user = getUser(userId);
@@ -69,7 +125,7 @@ public class UserCardOperationService {
         Card card = getUserCard(cardId, user);
         validateCardIsActive(card);
 
-        card.setBalance(card.getBalance().add(amount));
+        credit(card, amount);
         cardOperationService.logDeposit(card, amount);
 
         auditService.log(
@@ -87,25 +143,46 @@ public class UserCardOperationService {
         Card card = getUserCard(cardId, user);
         validateCardIsActive(card);
 
-        if (card.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient funds");
-        }
+        // У шардированной карты cards.balance не отражает баланс, а сумма шардов стоит лишнего запроса
+        String details = card.getBalanceShards() > 0
+                ? "amount=" + amount
+                : "amount=" + amount + ";balanceBefore=" + card.getBalance();
 
-        var before = card.getBalance();
-        card.setBalance(card.getBalance().subtract(amount));
+        debit(card, amount);
         cardOperationService.logWithdraw(card, amount);
 
         auditService.log(
                 AuditAction.CARD_WITHDRAW,
                 AuditEntityType.CARD,
                 card.getCardNumber(),
-                "amount=" + amount + ";balanceBefore=" + before
+                details
         );
 
     }
 
     // ===== HELPERS =====
 
+    private void debit(Card card, BigDecimal amount) {
+        if (card.getBalanceShards() > 0) {
+            shardedBalanceService.withdraw(card, amount);
+            return;
+        }
+
+        if (card.getBalance().compareTo(amount) < 0) {
+            throw new IllegalStateException(Constants.INSUFFICIENT_FUNDS);
+        }
+        card.setBalance(card.getBalance().subtract(amount));
+    }
+
+    private void credit(Card card, BigDecimal amount) {
+        if (card.getBalanceShards() > 0) {
+            shardedBalanceService.deposit(card, amount);
+        } else if (!card.isHot()) {
+            // Строку hot-карты не трогаем: зачисление перенесёт HotCardBalanceAggregator
+            card.setBalance(card.getBalance().add(amount));
+        }
+    }
+
     private User getUser(UUID userId) {
         return userRepository.findByUniqueKey(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
@@ -118,7 +195,7 @@ public class UserCardOperationService {
 
     private void validateCardIsActive(Card card) {
         if (card.getStatus() != CardStatus.ACTIVE) {
-            throw new IllegalStateException("Card is not active");
+            throw new IllegalStateException(Constants.CARD_NOT_ACTIVE);
         }
     }
 }
@@ -0,0 +1,143 @@
+package com.banking.cards.service.user;
+
+import com.banking.cards.common.CardStatus;
+import com.banking.cards.common.Constants;
+import com.banking.cards.common.ScheduledTransferStatus;
+import com.banking.cards.common.audit.AuditAction;
+import com.banking.cards.common.audit.AuditEntityType;
+import com.banking.cards.config.ScheduledTransferProperties;
+import com.banking.cards.dto.request.ScheduleTransferRequest;
+import com.banking.cards.dto.response.PageResponse;
+import com.banking.cards.dto.response.ScheduledTransferDto;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.ScheduledTransfer;
+import com.banking.cards.entity.User;
+import com.banking.cards.mapper.CardMapper;
+import com.banking.cards.mapper.PageMapper;
+import com.banking.cards.repository.CardRepository;
+import com.banking.cards.repository.ScheduledTransferRepository;
+import com.banking.cards.repository.UserRepository;
+import com.banking.cards.service.AuditService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Запланированные переводы пользователя: создание, просмотр и отмена.
+ * <p>
+ * Выполняет их {@link com.banking.cards.service.ScheduledTransferExecutor}. Чтобы переводы, назначенные
+ * клиентами на одно и то же время (обычно полночь), не приходили одной волной, срок выполнения
+ * сдвигается на случайную величину внутри {@code spread-window}: {@code executeAt} означает «не раньше».
+ */
+@Service
+@RequiredArgsConstructor
+public class UserScheduledTransferService {
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final CardRepository cardRepository;
+    private final UserRepository userRepository;
+    private final AuditService auditService;
+    private final CardMapper mapper;
+    private final ScheduledTransferProperties properties;
+
+    @Transactional
+    public ScheduledTransferDto schedule(ScheduleTransferRequest request, UUID userId) {
+        User user = getUser(userId);
+
+        Card from = getUserCard(request.fromCardId(), user);
+        Card to = getUserCard(request.toCardId(), user);
+        validateCardIsActive(from);
+        validateCardIsActive(to);
+
+        ScheduledTransfer transfer = scheduledTransferRepository.save(ScheduledTransfer.builder()
+                .userKey(userId)
+                .fromCard(from)
+                .toCard(to)
+                .amount(request.amount())
+                .executeAt(request.executeAt())
+                .dueAt(spread(request.executeAt()))
+                .status(ScheduledTransferStatus.PENDING)
+                .createdAt(Instant.now())
+                .build());
+
+        auditService.log(
+                AuditAction.SCHEDULED_TRANSFER_CREATED,
+                AuditEntityType.SCHEDULED_TRANSFER,
+                String.valueOf(transfer.getId()),
+                "from=" + from.getCardNumber() + ";to=" + to.getCardNumber()
+                        + ";amount=" + request.amount() + ";executeAt=" + request.executeAt()
+        );
+
+        return mapper.toScheduledTransferDto(transfer);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<ScheduledTransferDto> getScheduledTransfers(UUID userId, int page, int size) {
+        Pageable pageable = PageRequest.of(
+                page,
+                size,
+                Sort.by("executeAt").descending()
+        );
+
+        return PageMapper.toPageResponse(
+                scheduledTransferRepository.findAllByUserKey(userId, pageable)
+                        .map(mapper::toScheduledTransferDto)
+        );
+    }
+
+    /**
+     * Отменяет ещё не начатый перевод. Строка блокируется, поэтому отмена и захват исполнителем
+     * не пересекаются: исполнитель пропускает заблокированные строки, а после отмены строка уже не PENDING.
+     */
+    @Transactional
+    public void cancel(Long id, UUID userId) {
+        ScheduledTransfer transfer = scheduledTransferRepository.lockById(id)
+                .filter(t -> t.getUserKey().equals(userId))
+                .orElseThrow(() -> new EntityNotFoundException("Scheduled transfer not found"));
+
+        if (transfer.getStatus() != ScheduledTransferStatus.PENDING) {
+            throw new IllegalStateException("Only pending transfers can be cancelled");
+        }
+        transfer.setStatus(ScheduledTransferStatus.CANCELLED);
+
+        auditService.log(
+                AuditAction.SCHEDULED_TRANSFER_CANCELLED,
+                AuditEntityType.SCHEDULED_TRANSFER,
+                String.valueOf(id),
+                "amount=" + transfer.getAmount() + ";executeAt=" + transfer.getExecuteAt()
+        );
+    }
+
+    // ===== HELPERS =====
+
+    private Instant spread(Instant executeAt) {
+        long window = properties.getSpreadWindow();
+        return window > 0
+                ? executeAt.plusMillis(ThreadLocalRandom.current().nextLong(window))
+                : executeAt;
+    }
+
+    private User getUser(UUID userId) {
+        return userRepository.findByUniqueKey(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+    }
+
+    private Card getUserCard(String cardId, User user) {
+        return cardRepository.findByCardNumberAndOwner(cardId, user)
+                .orElseThrow(() -> new EntityNotFoundException("Card not found"));
+    }
+
+    private void validateCardIsActive(Card card) {
+        if (card.getStatus() != CardStatus.ACTIVE) {
+            throw new IllegalStateException(Constants.CARD_NOT_ACTIVE);
+        }
+    }
+}
@@ -2,47 +2,74 @@ package com.banking.cards.util;
 
 import com.banking.cards.common.Role;
 import com.banking.cards.config.AdminProperties;
-import com.banking.cards.entity.User;
-import com.banking.cards.repository.UserRepository;
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import java.util.UUID;
+
+/**
+ * Создание администратора после старта приложения.
+ * <p>
+ * Выполняется по {@link ApplicationReadyEvent}, а не при создании контекста, одним
+ * {@code INSERT ... ON CONFLICT DO NOTHING}: без предварительной проверки и без гонки между узлами.
+ * С заданным {@code application.admin.password-hash} пароль не хешируется при старте. В профиле prod
+ * администратора создаёт запуск с {@code --migrate}, а обычные узлы этот шаг пропускают.
+ */
 @Slf4j
 @Component
 public class AdminInitializer {
 
-    private final UserRepository userRepository;
+    private static final String INSERT_ADMIN = """
+            INSERT INTO users (unique_key, username, password, role)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (username) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
     private final PasswordEncoder passwordEncoder;
     private final AdminProperties adminProperties;
 
-    public AdminInitializer(UserRepository userRepository,
+    public AdminInitializer(JdbcTemplate jdbcTemplate,
                             PasswordEncoder passwordEncoder,
                             AdminProperties adminProperties) {
-        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
         this.passwordEncoder = passwordEncoder;
         this.adminProperties = adminProperties;
     }
 
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
     public void initAdminUser() {
+        if (!adminProperties.isSeedOnStart()) {
+            return;
+        }
         try {
             final var username = adminProperties.getUsername();
-            if (!userRepository.existsByUsername(username)) {
-                User admin = new User();
-                admin.setUsername(username);
-                admin.setPassword(passwordEncoder.encode(adminProperties.getPassword()));
-                admin.setRole(Role.ADMIN);
+            int inserted = jdbcTemplate.update(
+                    INSERT_ADMIN,
+                    UUID.randomUUID(),
+                    username,
+                    passwordHash(),
+                    Role.ADMIN.name()
+            );
 
-                userRepository.save(admin);
-
-                log.info("Администратор создан: {}", adminProperties.getUsername());
+            if (inserted > 0) {
+                log.info("Администратор создан: {}", username);
             } else {
-                log.info("Администратор уже существует: {}", adminProperties.getUsername());
+                log.info("Администратор уже существует: {}", username);
             }
         } catch (Exception e) {
             log.error("Ошибка при создании администратора", e);
         }
     }
+
+    private String passwordHash() {
+        return StringUtils.hasText(adminProperties.getPasswordHash())
+                ? adminProperties.getPasswordHash()
+                : passwordEncoder.encode(adminProperties.getPassword());
+    }
 }
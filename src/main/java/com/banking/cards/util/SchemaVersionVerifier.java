@@ -0,0 +1,85 @@
+package com.banking.cards.util;
+
+import jakarta.annotation.PostConstruct;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.LiquibaseException;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Проверка версии схемы на узлах, которые не накатывают миграции сами ({@code spring.liquibase.enabled=false}).
+ * <p>
+ * Миграции применяет отдельный запуск с {@code --migrate}. Узел только сверяет changeSet'ы из
+ * {@code root-changelog.xml} с {@code databasechangelog} одним запросом, без блокировки Liquibase,
+ * и не стартует, если схема отстаёт от кода.
+ */
+@Slf4j
+@Component
+@Lazy(false) // в профиле prod бины ленивые, а этот никто не запрашивает
+@ConditionalOnProperty(prefix = "spring.liquibase", name = "enabled", havingValue = "false")
+public class SchemaVersionVerifier {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String changeLog;
+    private final boolean verify;
+
+    public SchemaVersionVerifier(JdbcTemplate jdbcTemplate,
+                                 @Value("${spring.liquibase.change-log}") String changeLog,
+                                 @Value("${application.schema-version.verify:true}") boolean verify) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLog = changeLog.startsWith(CLASSPATH_PREFIX)
+                ? changeLog.substring(CLASSPATH_PREFIX.length())
+                : changeLog;
+        this.verify = verify;
+    }
+
+    @PostConstruct
+    public void verify() {
+        if (!verify) {
+            return;
+        }
+        Set<String> expected = expectedChangeSets();
+        Set<String> applied = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id || '::' || author FROM databasechangelog", String.class));
+
+        expected.removeAll(applied);
+        if (!expected.isEmpty()) {
+            throw new IllegalStateException("Database schema is behind the application: "
+                    + expected.size() + " change sets not applied, first " + expected.iterator().next()
+                    + ". Run the application with --migrate first");
+        }
+        log.info("Схема БД актуальна: {} changeSet'ов применено", applied.size());
+    }
+
+    private Set<String> expectedChangeSets() {
+        try {
+            ResourceAccessor accessor = new ClassLoaderResourceAccessor(getClass().getClassLoader());
+            DatabaseChangeLog parsed = ChangeLogParserFactory.getInstance()
+                    .getParser(changeLog, accessor)
+                    .parse(changeLog, new ChangeLogParameters(), accessor);
+
+            Set<String> changeSets = new LinkedHashSet<>();
+            for (ChangeSet changeSet : parsed.getChangeSets()) {
+                changeSets.add(changeSet.getId() + "::" + changeSet.getAuthor());
+            }
+            return changeSets;
+        } catch (LiquibaseException e) {
+            throw new IllegalStateException("Cannot read changelog " + changeLog, e);
+        }
+    }
+}
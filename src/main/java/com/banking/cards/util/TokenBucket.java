@@ -0,0 +1,52 @@
+package com.banking.cards.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket без блокировок (вариант GCRA).
+ * <p>
+ * Вместо счётчика токенов хранится одно число — теоретическое время прихода следующего запроса (TAT).
+ * Запрос пропускается, если TAT опережает текущее время не больше чем на {@code capacity - 1}
+ * интервалов пополнения; состояние обновляется одним CAS.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(int capacity, double requestsPerSecond) {
+        if (capacity <= 0 || requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and requestsPerSecond must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.toleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    /**
+     * Пытается взять токен.
+     *
+     * @return 0, если запрос разрешён, иначе сколько наносекунд ждать до следующего токена
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long stored = theoreticalArrival.get();
+            long tat = stored == Long.MIN_VALUE ? nowNanos : Math.max(stored, nowNanos);
+            long wait = tat - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(stored, tat + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Ведро полностью восстановилось — его можно удалить без изменения поведения.
+     */
+    public boolean isIdle(long nowNanos) {
+        long stored = theoreticalArrival.get();
+        return stored == Long.MIN_VALUE || stored - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,206 @@
+package com.banking.cards.benchmark;
+
+import com.banking.cards.common.CardStatus;
+import com.banking.cards.common.Role;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.User;
+import com.banking.cards.repository.CardBalanceShardRepository;
+import com.banking.cards.repository.CardRepository;
+import com.banking.cards.repository.UserRepository;
+import com.banking.cards.service.CardBalanceService;
+import com.banking.cards.service.ShardedBalanceService;
+import com.banking.cards.service.user.UserCardOperationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Замер конкуренции за баланс одной карты: обычная карта против шардированной.
+ * <p>
+ * Не входит в {@code ./gradlew test}; запуск — {@code ./gradlew benchmark} (нужен Docker).
+ * Результат печатается в stdout. Кроме скорости проверяется, что деньги не потерялись:
+ * итоговый баланс равен сумме успешных пополнений, в том числе когда одна транзакция
+ * несколько раз собирает баланс шардов.
+ */
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "application.access-log.enabled=false"
+})
+class BalanceContentionBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int DEPOSITS_PER_THREAD = 250;
+    private static final int SHARDS = 8;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS * 2);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardBalanceShardRepository shardRepository;
+
+    @Autowired
+    private UserCardOperationService userCardOperationService;
+
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+
+    @Autowired
+    private CardBalanceService cardBalanceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("bench-" + UUID.randomUUID())
+                .password("n/a")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("deposit - Обычная карта против шардированной при параллельных пополнениях")
+    void deposit_plainVersusSharded() throws Exception {
+        Card plain = newCard();
+        Card sharded = newCard();
+        transactionTemplate.executeWithoutResult(status ->
+                shardedBalanceService.enable(cardRepository.findById(sharded.getId()).orElseThrow(), SHARDS));
+
+        Result plainResult = run(plain);
+        Result shardedResult = run(sharded);
+
+        System.out.printf("%n%-10s %10s %10s %10s%n", "mode", "ok", "conflicts", "ops/s");
+        plainResult.print("plain");
+        shardedResult.print("sharded");
+
+        assertThat(balanceOf(plain)).isEqualByComparingTo(BigDecimal.valueOf(plainResult.succeeded()));
+        assertThat(balanceOf(sharded)).isEqualByComparingTo(BigDecimal.valueOf(shardedResult.succeeded()));
+    }
+
+    @Test
+    @DisplayName("withdraw - Списание, зачисление и списание одной карты в одной транзакции не теряют деньги")
+    void withdrawDepositWithdraw_inOneTransaction_shouldKeepBalance() {
+        Card card = newCard();
+        transactionTemplate.executeWithoutResult(status -> {
+            shardedBalanceService.enable(cardRepository.findById(card.getId()).orElseThrow(), 2);
+            shardRepository.credit(card.getId(), 0, new BigDecimal("50.00"));
+            shardRepository.credit(card.getId(), 1, new BigDecimal("50.00"));
+        });
+
+        // Как пакетный перевод, трогающий карту дважды: обе консолидации должны видеть текущие суммы шардов
+        transactionTemplate.executeWithoutResult(status -> {
+            Card managed = cardRepository.findById(card.getId()).orElseThrow();
+            shardedBalanceService.withdraw(managed, new BigDecimal("80.00"));
+            shardRepository.credit(card.getId(), 1, new BigDecimal("70.00"));
+            shardedBalanceService.withdraw(managed, new BigDecimal("85.00"));
+        });
+
+        assertThat(balanceOf(card)).isEqualByComparingTo("5.00");
+    }
+
+    private Result run(Card card) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    authenticate();
+                    for (int i = 0; i < DEPOSITS_PER_THREAD; i++) {
+                        try {
+                            userCardOperationService.deposit(card.getCardNumber(), BigDecimal.ONE, user.getUniqueKey());
+                            succeeded.incrementAndGet();
+                        } catch (ConcurrencyFailureException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        return new Result(succeeded.get(), conflicts.get(), System.nanoTime() - started);
+    }
+
+    private Card newCard() {
+        String number = "4000" + String.format("%012d", ThreadLocalRandom.current().nextLong(1_000_000_000_000L));
+        return cardRepository.save(Card.builder()
+                .cardNumber(number)
+                .owner(user)
+                .validityPeriod(YearMonth.now().plusYears(3))
+                .status(CardStatus.ACTIVE)
+                .balance(BigDecimal.ZERO)
+                .build());
+    }
+
+    private BigDecimal balanceOf(Card card) {
+        return cardBalanceService.currentBalance(cardRepository.findById(card.getId()).orElseThrow());
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getUniqueKey().toString(),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        ));
+    }
+
+    private record Result(int succeeded, int conflicts, long elapsedNanos) {
+        void print(String mode) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%-10s %10d %10d %10.0f%n", mode, succeeded, conflicts, succeeded / seconds);
+        }
+    }
+}
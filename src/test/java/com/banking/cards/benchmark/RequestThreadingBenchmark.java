@@ -0,0 +1,183 @@
+package com.banking.cards.benchmark;
+
+import com.banking.cards.CardsApplication;
+import com.banking.cards.common.CardStatus;
+import com.banking.cards.common.Role;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.User;
+import com.banking.cards.repository.CardRepository;
+import com.banking.cards.repository.UserRepository;
+import com.banking.cards.security.JwtService;
+import com.banking.cards.security.SecurityUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Пропускная способность HTTP-пополнений: Tomcat на платформенных потоках против виртуальных
+ * при одинаковом пуле Hikari.
+ * <p>
+ * Приложение поднимается дважды на одной БД — с {@code spring.threads.virtual.enabled=false} и {@code true}.
+ * Клиентов больше, чем потоков Tomcat, и каждый пополняет свою карту, чтобы замер не упирался
+ * в блокировку одной строки. Не входит в {@code ./gradlew test}; запуск — {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class RequestThreadingBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_THREADS = 200;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("deposit - Платформенные потоки против виртуальных при равном пуле соединений")
+    void deposit_platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-10s %8s %8s %10s %10s%n", "threads", "ok", "503", "ops/s", "p99 ms");
+        platform.print("platform");
+        virtual.print("virtual");
+
+        assertThat(platform.succeeded()).isPositive();
+        assertThat(virtual.succeeded()).isPositive();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            User user = newUser(context);
+            String token = context.getBean(JwtService.class).generateToken(new SecurityUser(user));
+            List<Card> cards = newCards(context, user);
+            return load(port, token, cards);
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(CardsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.jpa.show-sql=false",
+                        "spring.docker.compose.enabled=false",
+                        "application.access-log.enabled=false",
+                        "application.rate-limit.enabled=false",
+                        "application.archive.enabled=false"
+                )
+                .run();
+    }
+
+    private Result load(int port, String token, List<Card> cards) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger recorded = new AtomicInteger();
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Card card : cards) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/cards/deposit"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"cardNumber\":\"" + card.getCardNumber() + "\",\"amount\":1.00}"))
+                        .build();
+
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - sent;
+                        if (response.statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        } else if (response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        long p99 = sorted.length == 0 ? 0 : sorted[(int) (sorted.length * 0.99) - 1];
+        return new Result(succeeded.get(), rejected.get(), System.nanoTime() - started, p99);
+    }
+
+    private static User newUser(ConfigurableApplicationContext context) {
+        return context.getBean(UserRepository.class).save(User.builder()
+                .username("bench-" + UUID.randomUUID())
+                .password("n/a")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static List<Card> newCards(ConfigurableApplicationContext context, User owner) {
+        List<Card> cards = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            cards.add(Card.builder()
+                    .cardNumber("4000" + String.format("%012d", ThreadLocalRandom.current().nextLong(1_000_000_000_000L)))
+                    .owner(owner)
+                    .validityPeriod(YearMonth.now().plusYears(3))
+                    .status(CardStatus.ACTIVE)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+        }
+        return context.getBean(CardRepository.class).saveAll(cards);
+    }
+
+    private record Result(int succeeded, int rejected, long elapsedNanos, long p99Nanos) {
+        void print(String mode) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%-10s %8d %8d %10.0f %10.1f%n",
+                    mode, succeeded, rejected, succeeded / seconds, p99Nanos / 1_000_000.0);
+        }
+    }
+}
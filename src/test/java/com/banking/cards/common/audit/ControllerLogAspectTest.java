@@ -0,0 +1,199 @@
+package com.banking.cards.common.audit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.read.ListAppender;
+import com.banking.cards.config.AccessLogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ControllerLogAspectTest {
+
+    private final AccessLogProperties properties = new AccessLogProperties();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger accessLog = (Logger) LoggerFactory.getLogger("access");
+    // Appender'ы, оставшиеся от контекстов Spring в той же JVM (ACCESS_ASYNC из logback-spring.xml)
+    private final List<Appender<ILoggingEvent>> detached = new ArrayList<>();
+    private boolean additive;
+
+    private PingController controller;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        // Только ListAppender: консольный или асинхронный appender отформатировал бы событие сам
+        accessLog.iteratorForAppenders().forEachRemaining(detached::add);
+        detached.forEach(accessLog::detachAppender);
+        additive = accessLog.isAdditive();
+        accessLog.setAdditive(false);
+        accessLog.addAppender(appender);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PingController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ControllerLogAspect(properties));
+        controller = factory.getProxy();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "6f1c2a4e-8d3b-4a7f-9c21-5e0b7d9a1f34", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLog.detachAppender(appender);
+        detached.forEach(accessLog::addAppender);
+        accessLog.setAdditive(additive);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("sampling - При доле 1.0 пишется каждый вызов")
+    void fullSampleRate_shouldLogEveryCall() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            controller.ping("x");
+        }
+
+        // Assert
+        assertThat(appender.list).hasSize(10);
+        assertThat(keyValues(appender.list.get(0)))
+                .containsEntry("user", "6f1c2a4e-8d3b-4a7f-9c21-5e0b7d9a1f34")
+                .containsEntry("roles", "ROLE_USER")
+                .containsEntry("endpoint", "PingController.ping");
+    }
+
+    @Test
+    @DisplayName("sampling - При доле 0 вызовы не пишутся")
+    void zeroSampleRate_shouldLogNothing() {
+        // Arrange
+        properties.setSampleRate(0.0);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            controller.ping("x");
+        }
+
+        // Assert
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("sampling - Доля эндпоинта переопределяет общую")
+    void endpointOverride_shouldTakePrecedence() {
+        // Arrange
+        properties.setSampleRate(0.0);
+        properties.setEndpoints(Map.of("PingController.list", 1.0));
+
+        // Act
+        controller.ping("x");
+        controller.list();
+
+        // Assert
+        assertThat(appender.list)
+                .extracting(event -> keyValues(event).get("endpoint"))
+                .containsExactly("PingController.list");
+    }
+
+    @Test
+    @DisplayName("sampling - Дробная доля пишет примерно такую же часть вызовов")
+    void fractionalSampleRate_shouldLogProportionOfCalls() {
+        // Arrange
+        properties.setSampleRate(0.25);
+
+        // Act
+        for (int i = 0; i < 4000; i++) {
+            controller.ping("x");
+        }
+
+        // Assert
+        assertThat(appender.list.size()).isBetween(800, 1200);
+    }
+
+    @Test
+    @DisplayName("sampling - Анонимные вызовы и выключенный журнал не пишутся")
+    void anonymousOrDisabled_shouldLogNothing() {
+        // Act
+        SecurityContextHolder.clearContext();
+        controller.ping("x");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user", null, List.of()));
+        properties.setEnabled(false);
+        controller.ping("x");
+
+        // Assert
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("args - Аргументы рендерятся только при форматировании события")
+    void args_shouldBeRenderedLazily() {
+        // Arrange
+        CountingArg arg = new CountingArg();
+
+        // Act
+        controller.ping(arg);
+
+        // Assert
+        Object args = keyValues(appender.list.get(0)).get("args");
+        assertThat(arg.rendered).hasValue(0);
+        assertThat(String.valueOf(args)).isEqualTo("[arg]");
+        assertThat(arg.rendered).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("args - При include-args=false аргументы не передаются")
+    void includeArgsDisabled_shouldOmitArgs() {
+        // Arrange
+        properties.setIncludeArgs(false);
+
+        // Act
+        controller.ping("x");
+
+        // Assert
+        assertThat(keyValues(appender.list.get(0))).doesNotContainKey("args");
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream()
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+
+    @RestController
+    public static class PingController {
+
+        public String ping(Object arg) {
+            return "pong";
+        }
+
+        public String list() {
+            return "[]";
+        }
+    }
+
+    private static class CountingArg {
+
+        private final AtomicInteger rendered = new AtomicInteger();
+
+        @Override
+        public String toString() {
+            rendered.incrementAndGet();
+            return "arg";
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.banking.cards.common.datasource;
+
+import com.banking.cards.config.DataSourcePoolsProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoolRoutingAspectTest {
+
+    private Jobs jobs;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Jobs());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PoolRoutingAspect(
+                new AnnotationTransactionAttributeSource(),
+                new ReadYourWritesTracker(new DataSourcePoolsProperties())
+        ));
+        jobs = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("readOnly - Читающая транзакция идёт на реплики")
+    void readOnlyTransaction_shouldUseReplicas() {
+        // Act & Assert
+        assertThat(jobs.read()).isEqualTo(DataSourcePool.REPLICA);
+        assertThat(DataSourcePoolContext.current()).isEqualTo(DataSourcePool.OLTP);
+    }
+
+    @Test
+    @DisplayName("readOnly - После своей записи пользователь читает с основной БД")
+    void readOnlyAfterOwnWrite_shouldUsePrimary() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("6f1c2a4e-8d3b-4a7f-9c21-5e0b7d9a1f34", null, List.of()));
+        jobs.write();
+
+        // Act & Assert
+        assertThat(jobs.read()).isEqualTo(DataSourcePool.READ);
+    }
+
+    @Test
+    @DisplayName("readOnly - Запись другого пользователя не уводит чтение с реплик")
+    void readOnlyAfterOtherUserWrite_shouldUseReplicas() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer", null, List.of()));
+        jobs.write();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader", null, List.of()));
+
+        // Act & Assert
+        assertThat(jobs.read()).isEqualTo(DataSourcePool.REPLICA);
+    }
+
+    @Test
+    @DisplayName("write - Пишущая транзакция внутри читающей возвращается в OLTP")
+    void writeInsideReadOnly_shouldUseOltpPool() {
+        // Act
+        DataSourcePool pool;
+        try (DataSourcePoolContext ignored = DataSourcePoolContext.use(DataSourcePool.REPLICA)) {
+            pool = jobs.write();
+        }
+
+        // Assert
+        assertThat(pool).isEqualTo(DataSourcePool.OLTP);
+    }
+
+    @Test
+    @DisplayName("write - Пишущая транзакция фоновой задачи остаётся в пуле BATCH")
+    void writeInsideBatch_shouldKeepBatchPool() {
+        // Act
+        DataSourcePool pool;
+        try (DataSourcePoolContext ignored = DataSourcePoolContext.use(DataSourcePool.BATCH)) {
+            pool = jobs.write();
+        }
+
+        // Assert
+        assertThat(pool).isEqualTo(DataSourcePool.BATCH);
+    }
+
+    @Test
+    @DisplayName("scheduled - Фоновая задача работает в пуле BATCH")
+    void scheduledJob_shouldUseBatchPool() {
+        // Act & Assert
+        assertThat(jobs.nightly()).isEqualTo(DataSourcePool.BATCH);
+        assertThat(DataSourcePoolContext.current()).isEqualTo(DataSourcePool.OLTP);
+    }
+
+    public static class Jobs {
+
+        @Transactional(readOnly = true)
+        public DataSourcePool read() {
+            return DataSourcePoolContext.current();
+        }
+
+        @Transactional
+        public DataSourcePool write() {
+            return DataSourcePoolContext.current();
+        }
+
+        @Scheduled(cron = "0 0 0 * * ?")
+        public DataSourcePool nightly() {
+            return DataSourcePoolContext.current();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.banking.cards.common.datasource;
+
+import com.banking.cards.config.DataSourcePoolsProperties;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesTrackerTest {
+
+    private final DataSourcePoolsProperties properties = new DataSourcePoolsProperties();
+    // Узлы за балансировщиком: у каждого свой трекер
+    private final ReadYourWritesTracker writingNode = new ReadYourWritesTracker(properties);
+    private final ReadYourWritesTracker otherNode = new ReadYourWritesTracker(properties);
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("6f1c2a4e-8d3b-4a7f-9c21-5e0b7d9a1f34", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("markWrite - Ответ пишущего запроса получает одну cookie со временем записи")
+    void markWrite_shouldSetSingleCookie() {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        bind(new MockHttpServletRequest(), response);
+
+        // Act
+        writingNode.markWrite();
+        writingNode.markWrite();
+
+        // Assert
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).hasSize(1);
+        assertThat(response.getCookie(ReadYourWritesTracker.COOKIE)).isNotNull();
+        assertThat(response.getHeader(ReadYourWritesTracker.HEADER))
+                .isEqualTo(response.getCookie(ReadYourWritesTracker.COOKIE).getValue());
+    }
+
+    @Test
+    @DisplayName("recentlyWrote - Запрос с cookie записи читает с основной БД на другом узле")
+    void recentlyWrote_cookieFromOtherNode_shouldBeTrue() {
+        // Arrange
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        bind(new MockHttpServletRequest(), writeResponse);
+        writingNode.markWrite();
+
+        MockHttpServletRequest read = new MockHttpServletRequest();
+        read.setCookies(writeResponse.getCookie(ReadYourWritesTracker.COOKIE));
+        bind(read, new MockHttpServletResponse());
+
+        // Act & Assert
+        assertThat(otherNode.recentlyWrote()).isTrue();
+    }
+
+    @Test
+    @DisplayName("recentlyWrote - Отметка из заголовка принимается так же, как cookie")
+    void recentlyWrote_header_shouldBeTrue() {
+        // Arrange
+        MockHttpServletRequest read = new MockHttpServletRequest();
+        read.addHeader(ReadYourWritesTracker.HEADER, Long.toString(System.currentTimeMillis() - 1000));
+        bind(read, new MockHttpServletResponse());
+
+        // Act & Assert
+        assertThat(otherNode.recentlyWrote()).isTrue();
+    }
+
+    @Test
+    @DisplayName("recentlyWrote - Старая или некорректная отметка не уводит чтение с реплик")
+    void recentlyWrote_expiredOrInvalidMarker_shouldBeFalse() {
+        // Arrange
+        MockHttpServletRequest expired = new MockHttpServletRequest();
+        expired.setCookies(new Cookie(ReadYourWritesTracker.COOKIE,
+                Long.toString(System.currentTimeMillis() - properties.getReadYourWritesWindow() - 1000)));
+        MockHttpServletRequest invalid = new MockHttpServletRequest();
+        invalid.addHeader(ReadYourWritesTracker.HEADER, "soon");
+
+        // Act & Assert
+        bind(expired, new MockHttpServletResponse());
+        assertThat(otherNode.recentlyWrote()).isFalse();
+        bind(invalid, new MockHttpServletResponse());
+        assertThat(otherNode.recentlyWrote()).isFalse();
+    }
+
+    private static void bind(MockHttpServletRequest request, MockHttpServletResponse response) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+}
@@ -0,0 +1,101 @@
+package com.banking.cards.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaSetTest {
+
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+    private final ReplicaSet.Replica firstReplica = new ReplicaSet.Replica("replica-1", new HikariDataSource(), first);
+    private final ReplicaSet.Replica secondReplica = new ReplicaSet.Replica("replica-2", new HikariDataSource(), second);
+    private final DataSource primary = mock(DataSource.class);
+    private final ReplicaSet replicas = new ReplicaSet(primary, List.of(firstReplica, secondReplica), 5000);
+
+    @Test
+    @DisplayName("pick - До первого замера отставания реплики не используются")
+    void pick_notMeasured_shouldReturnEmpty() {
+        // Act & Assert
+        assertThat(replicas.pick()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("pick - Неотстающие реплики выдаются по кругу")
+    void pick_healthyReplicas_shouldRoundRobin() {
+        // Arrange
+        firstReplica.lag(0);
+        secondReplica.lag(1200);
+
+        // Act & Assert
+        assertThat(List.of(replicas.pick().orElseThrow(), replicas.pick().orElseThrow()))
+                .containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    @DisplayName("pick - Реплика с отставанием больше допустимого пропускается")
+    void pick_laggingReplica_shouldBeSkipped() {
+        // Arrange
+        firstReplica.lag(7000);
+        secondReplica.lag(300);
+
+        // Act & Assert
+        assertThat(replicas.pick()).contains(second);
+        assertThat(replicas.pick()).contains(second);
+    }
+
+    @Test
+    @DisplayName("pick - Когда отстают или недоступны все реплики, чтение уходит на основную БД")
+    void pick_allLaggingOrDown_shouldReturnEmpty() {
+        // Arrange
+        firstReplica.lag(-1);
+        secondReplica.lag(60000);
+
+        // Act & Assert
+        assertThat(replicas.pick()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("checkLag - Без позиции WAL основной БД реплики считаются недоступными")
+    void checkLag_primaryUnavailable_shouldMarkReplicasUnavailable() throws Exception {
+        // Arrange
+        firstReplica.lag(0);
+        secondReplica.lag(300);
+        when(primary.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        // Act
+        replicas.checkLag();
+
+        // Assert
+        assertThat(firstReplica.lag()).isEqualTo(-1);
+        assertThat(secondReplica.lag()).isEqualTo(-1);
+        assertThat(replicas.pick()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("close - Закрывает пулы всех реплик")
+    void close_shouldClosePools() {
+        // Arrange
+        HikariDataSource firstPool = mock(HikariDataSource.class);
+        HikariDataSource secondPool = mock(HikariDataSource.class);
+        ReplicaSet replicaSet = new ReplicaSet(primary, List.of(
+                new ReplicaSet.Replica("replica-1", firstPool, first),
+                new ReplicaSet.Replica("replica-2", secondPool, second)), 5000);
+
+        // Act
+        replicaSet.close();
+
+        // Assert
+        verify(firstPool).close();
+        verify(secondPool).close();
+    }
+}
@@ -0,0 +1,83 @@
+package com.banking.cards.common.metrics;
+
+import com.banking.cards.util.QueryCountAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InspectingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private InspectingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        dataSource = new InspectingDataSource(target);
+    }
+
+    @Test
+    @DisplayName("getConnection - Считает выполнения выражений, но не их подготовку")
+    void getConnection_shouldCountExecutionsOnly() throws Exception {
+        // Act
+        int statements = QueryCountAssertions.countStatements(() -> {
+            try (Connection c = dataSource.getConnection()) {
+                PreparedStatement ps = c.prepareStatement("SELECT 1");
+                ps.setInt(1, 1);
+                ps.executeQuery();
+                ps.executeBatch();
+            }
+        });
+
+        // Assert
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("open - Вложенная область добавляет свои итоги к внешней")
+    void open_nestedScope_shouldAddToOuter() throws Exception {
+        // Act
+        int statements = QueryCountAssertions.countStatements(() -> {
+            try (QueryStats inner = QueryStats.open()) {
+                dataSource.getConnection().prepareStatement("SELECT 1").execute();
+                assertThat(inner.statements()).isEqualTo(1);
+            }
+            dataSource.getConnection().prepareStatement("SELECT 1").execute();
+        });
+
+        // Assert
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("assertMaxStatements - Падает при превышении бюджета")
+    void assertMaxStatements_overBudget_shouldFail() {
+        // Act & Assert
+        assertThatThrownBy(() -> QueryCountAssertions.assertMaxStatements(1, () -> {
+            Connection c = dataSource.getConnection();
+            c.prepareStatement("SELECT 1").executeQuery();
+            c.prepareStatement("SELECT 1").executeQuery();
+        })).isInstanceOf(AssertionError.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.banking.cards.common.metrics;
+
+import com.banking.cards.common.Constants;
+import com.banking.cards.service.user.UserCardOperationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class OperationMetricsAspectTest {
+
+    private static final UUID USER_ID = UUID.fromString("6f1c2a4e-8d3b-4a7f-9c21-5e0b7d9a1f34");
+
+    @Mock
+    private UserCardOperationService target;
+
+    private SimpleMeterRegistry registry;
+    private UserCardOperationService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OperationMetricsAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("deposit - Успешная операция записывается с исходом success")
+    void deposit_success_shouldRecordSuccess() {
+        // Act
+        service.deposit("4276550012345678", BigDecimal.TEN, USER_ID);
+
+        // Assert
+        assertThat(count("deposit", "success")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("withdraw - Нехватка средств размечается как insufficient_funds")
+    void withdraw_insufficientFunds_shouldRecordOutcome() {
+        // Arrange
+        doThrow(new IllegalStateException(Constants.INSUFFICIENT_FUNDS))
+                .when(target).withdraw(any(), any(), any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.withdraw("4276550012345678", BigDecimal.TEN, USER_ID))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count("withdraw", "insufficient_funds")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("transfer - Конфликт версий на коммите размечается как optimistic_lock")
+    void transfer_optimisticLock_shouldRecordOutcome() {
+        // Arrange
+        doThrow(new ObjectOptimisticLockingFailureException("Card", 1L))
+                .when(target).transfer(any(), any(), any(), any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.transfer("4276550012345678", "4276550098765432", BigDecimal.TEN, USER_ID))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(count("transfer", "optimistic_lock")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("outcome - Неактивная карта и прочие ошибки различаются")
+    void outcome_shouldClassifyFailures() {
+        assertThat(OperationMetricsAspect.outcome(new IllegalStateException(Constants.CARD_NOT_ACTIVE)))
+                .isEqualTo("inactive_card");
+        assertThat(OperationMetricsAspect.outcome(new IllegalStateException("Other")))
+                .isEqualTo("error");
+        assertThat(OperationMetricsAspect.outcome(new CannotAcquireLockException("deadlock detected")))
+                .isEqualTo("lock_conflict");
+    }
+
+    private long count(String method, String outcome) {
+        return registry.get(OperationMetricsAspect.OPERATIONS)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.cards.controller.admin;
+
+import com.banking.cards.common.ArchiveTable;
+import com.banking.cards.constants.TestConstants;
+import com.banking.cards.dto.response.ArchivedRecordDto;
+import com.banking.cards.service.admin.AdminArchiveService;
+import com.banking.cards.util.JsonUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AdminArchiveController.class)
+@AutoConfigureMockMvc(addFilters = false) // Отключаем JWT, Login
+class AdminArchiveControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AdminArchiveService adminArchiveService;
+
+    private final String JSON_PATH = TestConstants.BASE_CONTROLLER_PATH;
+
+    private String getCardNumber() throws IOException {
+        return JsonUtils.readFile(JSON_PATH + "/CardNumber.json");
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/archive/search - Возвращает найденные архивные записи")
+    void search_shouldReturn200_andRecords() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        ArchivedRecordDto record = new ArchivedRecordDto(
+                10452L,
+                Instant.parse("2025-03-14T09:12:44Z"),
+                Map.of("type", "DEPOSIT", "amount", "500.00")
+        );
+
+        Mockito.when(adminArchiveService.search(ArchiveTable.CARD_OPERATIONS, "4276550012345678", from, to))
+                .thenReturn(List.of(record));
+
+        mockMvc.perform(post("/api/admin/archive/search")
+                        .param("table", "CARD_OPERATIONS")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-03-31")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(getCardNumber()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(10452))
+                .andExpect(jsonPath("$[0].values.type").value("DEPOSIT"));
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/archive/search - 400 при неверном периоде")
+    void search_shouldReturn400_whenPeriodIsInvalid() throws Exception {
+        Mockito.when(adminArchiveService.search(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenThrow(new IllegalArgumentException("'from' must not be after 'to'"));
+
+        mockMvc.perform(post("/api/admin/archive/search")
+                        .param("table", "AUDIT_LOGS")
+                        .param("from", "2025-03-31")
+                        .param("to", "2025-01-01")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(getCardNumber()))
+                .andExpect(status().isBadRequest());
+    }
+}
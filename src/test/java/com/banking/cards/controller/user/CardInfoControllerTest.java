@@ -65,7 +65,7 @@ class CardInfoControllerTest {
         testUserId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
 
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-                testUserId, // principal как UUID
+                testUserId.toString(), // principal - строковый subject, как из JWT
                 null, // credentials
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
@@ -2,6 +2,8 @@ package com.banking.cards.controller.user;
 
 import com.banking.cards.config.MaskingConfig;
 import com.banking.cards.constants.TestConstants;
+import com.banking.cards.dto.request.CardTransferRequest;
+import com.banking.cards.service.IdempotencyService;
 import com.banking.cards.service.user.UserCardOperationService;
 import com.banking.cards.util.JsonUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,11 +27,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +52,9 @@ class CardOperationsControllerTest {
     @MockitoBean
     private UserCardOperationService userCardOperationService;
 
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     private final String JSON_PATH = TestConstants.BASE_CONTROLLER_PATH + "/user";
 
     @Autowired
@@ -221,6 +229,42 @@ class CardOperationsControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("POST /api/cards/transfer/batch - Успешный пакет переводов")
+    void transferBatch_shouldReturn200_whenRequestIsValid() throws Exception {
+        String jsonBody = """
+                {
+                  "transfers": [
+                    { "fromCardId": "4276550012345678", "toCardId": "4276550098765432", "amount": 250.00 },
+                    { "fromCardId": "4276550098765432", "toCardId": "4276550012345678", "amount": 100.00 }
+                  ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/cards/transfer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isOk());
+
+        Mockito.verify(userCardOperationService).transferBatch(
+                Mockito.<List<CardTransferRequest>>argThat(legs -> legs.size() == 2
+                        && legs.get(0).fromCardId().equals("4276550012345678")
+                        && legs.get(1).amount().compareTo(new BigDecimal("100")) == 0),
+                eq(UUID.fromString(testUserId))
+        );
+    }
+
+    @Test
+    @DisplayName("POST /api/cards/transfer/batch - Ошибка 400 при пустом пакете")
+    void transferBatch_shouldReturn400_whenTransfersAreEmpty() throws Exception {
+        mockMvc.perform(post("/api/cards/transfer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transfers\": []}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(userCardOperationService);
+    }
+
     @Test
     @DisplayName("POST /api/cards/transfer - Ошибка 404 при отсутствии карты отправителя")
     void transfer_shouldReturn404_whenFromCardNotFound() throws Exception {
@@ -348,4 +392,39 @@ class CardOperationsControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("User not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/cards/transfer - С ключом идемпотентности операция идёт через IdempotencyService")
+    void transfer_shouldDelegateToIdempotencyService_whenKeyPresent() throws Exception {
+        String jsonBody = getTransferRequest();
+
+        Mockito.when(idempotencyService.execute(
+                eq(UUID.fromString(testUserId)), eq("retry-1"), eq("transfer"), any(), any(Runnable.class)
+        )).thenReturn(false);
+
+        mockMvc.perform(post("/api/cards/transfer")
+                        .header(IdempotencyService.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("POST /api/cards/transfer - Повтор по ключу идемпотентности не выполняет перевод")
+    void transfer_shouldReturnReplayedHeader_whenKeyAlreadyUsed() throws Exception {
+        String jsonBody = getTransferRequest();
+
+        Mockito.when(idempotencyService.execute(any(UUID.class), anyString(), anyString(), any(), any(Runnable.class)))
+                .thenReturn(true);
+
+        mockMvc.perform(post("/api/cards/transfer")
+                        .header(IdempotencyService.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"));
+
+        Mockito.verifyNoInteractions(userCardOperationService);
+    }
+}
@@ -0,0 +1,413 @@
+package com.banking.cards.load;
+
+import com.banking.cards.CardsApplication;
+import com.banking.cards.dto.request.AdminCreateCardRequest;
+import com.banking.cards.dto.request.LoginRequest;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.User;
+import com.banking.cards.repository.CardRepository;
+import com.banking.cards.repository.UserRepository;
+import com.banking.cards.service.UserService;
+import com.banking.cards.service.admin.AdminCardService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Базовый замер смешанной нагрузки: вход, список карт, страницы истории, пополнения и переводы
+ * на hot- и обычных картах.
+ * <p>
+ * Приложение поднимается на PostgreSQL из Testcontainers, пользователи регистрируются через
+ * {@link UserService}, карты выпускаются через {@link AdminCardService}. Клиентов больше, чем
+ * пользователей, поэтому обычные карты тоже конкурируют за строку. Отчёт — пропускная способность,
+ * p50/p99 и доля ошибок по операциям — печатается и пишется в {@code build/reports/load/mixed-workload.json};
+ * с {@code -Dload.baseline=<путь к прошлому отчёту>} рядом печатается сравнение.
+ * <p>
+ * Запуск: {@code ./gradlew loadTest} (нужен Docker), параметры — системные свойства {@code load.*}.
+ */
+@Tag("load")
+@Testcontainers
+class MixedWorkloadLoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final Path REPORT = Paths.get("build", "reports", "load", "mixed-workload.json");
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    // Не меньше двух: переводы идут между картами одного пользователя
+    private static final int CARDS_PER_USER = Math.max(2, Integer.getInteger("load.cardsPerUser", 4));
+    private static final int HOT_USERS = Integer.getInteger("load.hotUsers", 5);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 60);
+    private static final int POOL_SIZE = Integer.getInteger("load.poolSize", 20);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("mixedWorkload - Пропускная способность, p50/p99 и ошибки по операциям")
+    void mixedWorkload_shouldReportBaseline() throws Exception {
+        try (ConfigurableApplicationContext context = start()) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Account> accounts = seed(context);
+
+            run(baseUrl, accounts, Instant.now().plusSeconds(WARMUP_SECONDS));
+            Instant started = Instant.now();
+            Map<Operation, Stats> result = run(baseUrl, accounts, started.plusSeconds(DURATION_SECONDS));
+            double seconds = Duration.between(started, Instant.now()).toMillis() / 1000.0;
+
+            Map<String, Map<String, Number>> report = report(result, seconds);
+            print(report, baseline());
+            Files.createDirectories(REPORT.getParent());
+            objectMapper.writeValue(REPORT.toFile(), report);
+
+            assertThat(result.values().stream().mapToLong(Stats::succeeded).sum()).isPositive();
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CardsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                        "spring.docker.compose.enabled=false",
+                        "application.access-log.enabled=false",
+                        "application.rate-limit.enabled=false",
+                        "application.archive.enabled=false",
+                        "application.scheduled-transfers.enabled=false"
+                )
+                .run();
+    }
+
+    // ===== SEED =====
+
+    private List<Account> seed(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        AdminCardService adminCardService = context.getBean(AdminCardService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CardRepository cardRepository = context.getBean(CardRepository.class);
+
+        // AdminCardService пишет аудит от имени текущего пользователя
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "load-test-seed", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        try {
+            List<Account> accounts = new ArrayList<>(USERS);
+            for (int u = 0; u < USERS; u++) {
+                String username = "load-" + u;
+                UUID userKey = userService.register(new LoginRequest(username, PASSWORD));
+                for (int c = 0; c < CARDS_PER_USER; c++) {
+                    adminCardService.createCard(new AdminCreateCardRequest(
+                            userKey, YearMonth.now().plusYears(3), INITIAL_BALANCE));
+                }
+
+                User user = userRepository.findByUniqueKey(userKey).orElseThrow();
+                List<String> cards = cardRepository
+                        .findAllByOwner(user, PageRequest.of(0, CARDS_PER_USER, Sort.by("id")))
+                        .map(Card::getCardNumber)
+                        .toList();
+                boolean hot = u < HOT_USERS;
+                if (hot) {
+                    // Первая карта «горячего» пользователя — получатель всех его пополнений и переводов
+                    adminCardService.changeHotMode(cards.get(0), true);
+                }
+                accounts.add(new Account(username, cards, hot));
+            }
+            return accounts;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // ===== LOAD =====
+
+    private Map<Operation, Stats> run(String baseUrl, List<Account> accounts, Instant until) throws Exception {
+        List<Future<Map<Operation, Stats>>> futures = new ArrayList<>(CLIENTS);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                Account account = accounts.get(i % accounts.size());
+                futures.add(clients.submit(() -> client(baseUrl, account, until)));
+            }
+        }
+
+        Map<Operation, Stats> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Stats>> future : futures) {
+            future.get().forEach((operation, stats) ->
+                    merged.computeIfAbsent(operation, o -> new Stats()).merge(stats));
+        }
+        return merged;
+    }
+
+    private Map<Operation, Stats> client(String baseUrl, Account account, Instant until) throws Exception {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        String token = login(baseUrl, account, stats);
+
+        while (Instant.now().isBefore(until)) {
+            Operation operation = Operation.pick(ThreadLocalRandom.current().nextInt(100));
+            if (operation == Operation.LOGIN) {
+                String refreshed = login(baseUrl, account, stats);
+                token = refreshed != null ? refreshed : token;
+                continue;
+            }
+            if (token == null) {
+                token = login(baseUrl, account, stats);
+                continue;
+            }
+            send(operation, request(baseUrl, operation, account, token), stats);
+        }
+        return stats;
+    }
+
+    private String login(String baseUrl, Account account, Map<Operation, Stats> stats) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(new LoginRequest(account.username(), PASSWORD))))
+                .build();
+        HttpResponse<String> response = send(Operation.LOGIN, request, stats);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("token").asText(null);
+    }
+
+    private HttpRequest request(String baseUrl, Operation operation, Account account, String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> cards = account.cards();
+        String card = cards.get(random.nextInt(cards.size()));
+        // Пополнения «горячего» пользователя идут на hot-карту; переводы у всех — с остальных карт на первую
+        String target = account.hot() ? cards.get(0) : card;
+        String source = cards.get(1 + random.nextInt(cards.size() - 1));
+
+        HttpRequest.Builder builder = switch (operation) {
+            case LIST_CARDS -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/cards/info?page=0&size=10")).GET();
+            case HISTORY -> HttpRequest.newBuilder(URI.create(
+                            baseUrl + "/api/cards/info/operations?page=" + random.nextInt(3) + "&size=20"))
+                    .POST(json("{\"cardNumber\":\"" + card + "\"}"));
+            case DEPOSIT -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/cards/deposit"))
+                    .POST(json("{\"cardNumber\":\"" + target + "\",\"amount\":1.00}"));
+            case TRANSFER -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/cards/transfer"))
+                    .POST(json("{\"fromCardId\":\"" + source + "\",\"toCardId\":\"" + cards.get(0) + "\",\"amount\":1.00}"));
+            case LOGIN -> throw new IllegalArgumentException("Login is sent separately");
+        };
+        return builder
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private HttpResponse<String> send(Operation operation, HttpRequest request, Map<Operation, Stats> stats) {
+        Stats operationStats = stats.computeIfAbsent(operation, o -> new Stats());
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            operationStats.record(System.nanoTime() - sent, response.statusCode() == 200);
+            return response;
+        } catch (IOException e) {
+            operationStats.record(System.nanoTime() - sent, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    // ===== REPORT =====
+
+    private static Map<String, Map<String, Number>> report(Map<Operation, Stats> result, double seconds) {
+        Map<String, Map<String, Number>> report = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Stats stats = result.getOrDefault(operation, new Stats());
+            long[] sorted = stats.sortedLatencies();
+            Map<String, Number> row = new LinkedHashMap<>();
+            row.put("requests", sorted.length);
+            row.put("errors", stats.failed());
+            row.put("errorRate", sorted.length == 0 ? 0.0 : (double) stats.failed() / sorted.length);
+            row.put("throughput", stats.succeeded() / seconds);
+            row.put("p50Ms", percentile(sorted, 0.50));
+            row.put("p99Ms", percentile(sorted, 0.99));
+            report.put(operation.name(), row);
+        }
+        return report;
+    }
+
+    private Map<String, Map<String, Number>> baseline() throws IOException {
+        String path = System.getProperty("load.baseline");
+        if (path == null || path.isBlank() || !Files.exists(Paths.get(path))) {
+            return Map.of();
+        }
+        Map<String, Map<String, Number>> baseline = new LinkedHashMap<>();
+        objectMapper.readTree(Paths.get(path).toFile()).properties().forEach(entry -> {
+            Map<String, Number> row = new LinkedHashMap<>();
+            entry.getValue().properties().forEach(field -> row.put(field.getKey(), field.getValue().numberValue()));
+            baseline.put(entry.getKey(), row);
+        });
+        return baseline;
+    }
+
+    private static void print(Map<String, Map<String, Number>> report, Map<String, Map<String, Number>> baseline) {
+        System.out.printf("%n%-10s %9s %8s %8s %10s %9s %9s %16s%n",
+                "operation", "requests", "errors", "err %", "ops/s", "p50 ms", "p99 ms", "vs baseline");
+        report.forEach((operation, row) -> {
+            Map<String, Number> before = baseline.get(operation);
+            String delta = before == null ? "" : String.format("%+.0f%% ops, %+.0f%% p99",
+                    change(before.get("throughput"), row.get("throughput")),
+                    change(before.get("p99Ms"), row.get("p99Ms")));
+            System.out.printf("%-10s %9d %8d %8.2f %10.0f %9.1f %9.1f %16s%n",
+                    operation,
+                    row.get("requests").longValue(),
+                    row.get("errors").longValue(),
+                    row.get("errorRate").doubleValue() * 100,
+                    row.get("throughput").doubleValue(),
+                    row.get("p50Ms").doubleValue(),
+                    row.get("p99Ms").doubleValue(),
+                    delta);
+        });
+    }
+
+    private static double change(Number before, Number after) {
+        if (before == null || after == null || before.doubleValue() == 0) {
+            return 0;
+        }
+        return (after.doubleValue() - before.doubleValue()) / before.doubleValue() * 100;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.max(0, (int) Math.ceil(sorted.length * quantile) - 1);
+        return sorted[index] / 1_000_000.0;
+    }
+
+    // ===== MODEL =====
+
+    private record Account(String username, List<String> cards, boolean hot) {}
+
+    /**
+     * Операции и их доля в смеси, в процентах.
+     */
+    private enum Operation {
+        LOGIN(5),
+        LIST_CARDS(30),
+        HISTORY(20),
+        DEPOSIT(25),
+        TRANSFER(20);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int roll) {
+            int bound = 0;
+            for (Operation operation : values()) {
+                bound += operation.weight;
+                if (roll < bound) {
+                    return operation;
+                }
+            }
+            return TRANSFER;
+        }
+    }
+
+    /**
+     * Замеры одного клиента; сливаются после окончания прогона, поэтому без синхронизации.
+     */
+    private static final class Stats {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long failed;
+
+        void record(long nanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (!ok) {
+                failed++;
+            }
+        }
+
+        void merge(Stats other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.latencies[i], true);
+            }
+            failed += other.failed;
+        }
+
+        long failed() {
+            return failed;
+        }
+
+        long succeeded() {
+            return size - failed;
+        }
+
+        long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
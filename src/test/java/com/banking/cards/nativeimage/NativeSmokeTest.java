@@ -0,0 +1,201 @@
+package com.banking.cards.nativeimage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Смоук-тест native-бинарника: вход, список карт и перевод на реальной БД.
+ * <p>
+ * Бинарник запускается отдельным процессом, поэтому проверяются именно подсказки native image:
+ * JWT (jjwt), миграции Liquibase, маппинг Hibernate и сериализация маскированных значений.
+ * <p>
+ * Запуск: {@code ./gradlew nativeSmokeTest -Pnative} (путь к готовому бинарнику — {@code -Dnative.binary}).
+ */
+@Tag("native")
+@Testcontainers
+class NativeSmokeTest {
+
+    private static final String ADMIN_USERNAME = "admin";
+    private static final String ADMIN_PASSWORD = "admin123";
+    private static final String PASSWORD = "native-smoke-password";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static Process application;
+    private static Path output;
+    private static String baseUrl;
+    private static String managementUrl;
+
+    @BeforeAll
+    static void startBinary() throws Exception {
+        Path binary = Paths.get(System.getProperty("native.binary", "build/native/nativeCompile/cards"));
+        assumeTrue(Files.isExecutable(binary), "Native binary not found: " + binary);
+        migrate();
+
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+        int managementPort = freePort();
+        managementUrl = "http://localhost:" + managementPort;
+        output = Files.createTempFile("cards-native", ".log");
+
+        ProcessBuilder builder = new ProcessBuilder(binary.toAbsolutePath().toString())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile());
+        Map<String, String> env = builder.environment();
+        env.put("SERVER_PORT", String.valueOf(port));
+        env.put("MANAGEMENT_PORT", String.valueOf(managementPort));
+        env.put("SPRING_DATASOURCE_URL", postgres.getJdbcUrl());
+        env.put("SPRING_DATASOURCE_USERNAME", postgres.getUsername());
+        env.put("SPRING_DATASOURCE_PASSWORD", postgres.getPassword());
+        env.put("SPRING_DOCKER_COMPOSE_ENABLED", "false");
+        env.put("JWT_SECRET_KEY", "9a4f0c6e2b7d18f35c0e9a7b4d2f61c83e5a9d0b7c4f2e1a6d8b3c5f7e9a0d2c");
+        env.put("APPLICATION_RATE_LIMIT_ENABLED", "false");
+        env.put("ADMIN_SEED_ON_START", "true");
+        application = builder.start();
+
+        awaitHealthy();
+    }
+
+    @AfterAll
+    static void stopBinary() throws Exception {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    @Test
+    @DisplayName("native - Вход, список карт и перевод работают в native-бинарнике")
+    void login_listCards_transfer_shouldWorkInNativeImage() throws Exception {
+        // Arrange
+        String username = "native-" + UUID.randomUUID();
+        JsonNode registered = post("/api/auth/register", null, Map.of("username", username, "password", PASSWORD));
+        String userId = registered.path("userId").asText();
+
+        String adminToken = login(ADMIN_USERNAME, ADMIN_PASSWORD);
+        for (int i = 0; i < 2; i++) {
+            post("/api/admin/cards", adminToken, Map.of(
+                    "userId", userId,
+                    "validityPeriod", YearMonth.now().plusYears(3).toString(),
+                    "initialBalance", "1000.00"
+            ));
+        }
+
+        // Act
+        String token = login(username, PASSWORD);
+        JsonNode cards = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/cards/info?page=0&size=10"))
+                .header("Authorization", "Bearer " + token)
+                .GET(), 200);
+        String from = cards.path("content").get(0).path("maskedNumber").asText();
+        String to = cards.path("content").get(1).path("maskedNumber").asText();
+        post("/api/cards/transfer", token, Map.of("fromCardId", from, "toCardId", to, "amount", "100.00"));
+
+        // Assert
+        JsonNode after = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/cards/info?page=0&size=10"))
+                .header("Authorization", "Bearer " + token)
+                .GET(), 200);
+        assertThat(after.path("totalElements").asLong()).isEqualTo(2);
+        assertThat(after.path("content").findValuesAsText("balance"))
+                .map(balance -> new BigDecimal(balance).setScale(2))
+                .containsExactlyInAnyOrder(new BigDecimal("900.00"), new BigDecimal("1100.00"));
+    }
+
+    private String login(String username, String password) throws Exception {
+        return post("/api/auth/login", null, Map.of("username", username, "password", password))
+                .path("token").asText();
+    }
+
+    private JsonNode post(String path, String token, Map<String, String> body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return send(builder, 200);
+    }
+
+    private static JsonNode send(HttpRequest.Builder builder, int expectedStatus) throws Exception {
+        HttpResponse<String> response = http.send(
+                builder.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode())
+                .as("%s -> %s", response.request().uri(), response.body())
+                .isEqualTo(expectedStatus);
+        return response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    private static void awaitHealthy() throws Exception {
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        HttpRequest health = HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        while (Instant.now().isBefore(deadline)) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("Native binary exited:\n" + Files.readString(output));
+            }
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // ещё не слушает порт
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Native binary did not start in " + STARTUP_TIMEOUT + ":\n" + Files.readString(output));
+    }
+
+    // Бинарник собран под prod без Liquibase и только сверяет версию схемы, как реплика после --migrate
+    private static void migrate() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        liquibase.setChangeLog("classpath:db.migration/root-changelog.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.banking.cards.security;
+
+import com.banking.cards.common.Role;
+import com.banking.cards.config.IntegrationProperties;
+import com.banking.cards.dto.request.SideServiceRequest;
+import com.banking.cards.entity.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private static final String API_KEY = "c80a26911cb7e3c3fb86a9bc2ec118c6e882192c1a215690889f4242f3c09ec5";
+    private static final String API_KEY_HASH = "f68e41ccbdcd055f2fe7761445e0d622fff348b5f4d05009688cc2cdc5760438";
+
+    @TempDir
+    Path keyDir;
+
+    private SecurityUser user;
+
+    @BeforeEach
+    void setUp() {
+        user = new SecurityUser(User.builder()
+                .uniqueKey(UUID.fromString("550e8400-e29b-41d4-a716-446655440000"))
+                .username("testuser")
+                .password("hash")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("generateToken - Без key ring токен подписывается HS256 и проверяется")
+    void generateToken_shouldUseHmac_whenKeyRingDisabled() {
+        JwtService jwtService = jwtService(disabledKeyRing(), SECRET);
+
+        String token = jwtService.generateToken(user);
+
+        assertThat(header(token)).contains("\"HS256\"").doesNotContain("kid");
+        assertThat(jwtService.parseToken(token))
+                .map(Claims::getSubject)
+                .contains("550e8400-e29b-41d4-a716-446655440000");
+    }
+
+    @Test
+    @DisplayName("generateToken - С key ring токен подписывается ES256 и содержит kid")
+    void generateToken_shouldUseActiveKey_whenKeyRingEnabled() throws Exception {
+        writeKeyPair("2026-01");
+        JwtService jwtService = jwtService(enabledKeyRing(), SECRET);
+
+        String token = jwtService.generateToken(user);
+
+        assertThat(header(token)).contains("\"ES256\"").contains("\"kid\":\"2026-01\"");
+        assertThat(jwtService.parseToken(token)).isPresent();
+    }
+
+    @Test
+    @DisplayName("parseToken - Узел без закрытого ключа и без секрета проверяет токены другого узла")
+    void parseToken_shouldVerifyWithPublicKeyOnly() throws Exception {
+        writeKeyPair("2026-01");
+        String token = jwtService(enabledKeyRing(), SECRET).generateToken(user);
+
+        Files.delete(keyDir.resolve("2026-01.key.pem"));
+        JwtService verifier = jwtService(enabledKeyRing(), "");
+
+        assertThat(verifier.parseToken(token)).isPresent();
+        assertThatThrownBy(() -> verifier.generateToken(user))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("parseToken - Новый ключ подхватывается без рестарта, старые токены остаются валидными")
+    void parseToken_shouldAcceptTokensAfterRotation() throws Exception {
+        writeKeyPair("2026-01");
+        JwtKeyRing keyRing = enabledKeyRing();
+        JwtService jwtService = jwtService(keyRing, SECRET);
+        String oldToken = jwtService.generateToken(user);
+
+        writeKeyPair("2026-02");
+        keyRing.reloadIfChanged();
+        String newToken = jwtService.generateToken(user);
+
+        assertThat(header(newToken)).contains("\"kid\":\"2026-02\"");
+        assertThat(jwtService.parseToken(oldToken)).isPresent();
+        assertThat(jwtService.parseToken(newToken)).isPresent();
+    }
+
+    @Test
+    @DisplayName("parseToken - Токен с неизвестным kid отклоняется")
+    void parseToken_shouldRejectUnknownKid() throws Exception {
+        writeKeyPair("2026-01");
+        String token = jwtService(enabledKeyRing(), SECRET).generateToken(user);
+
+        Files.delete(keyDir.resolve("2026-01.pub.pem"));
+        Files.delete(keyDir.resolve("2026-01.key.pem"));
+        writeKeyPair("2026-02");
+
+        assertThat(jwtService(enabledKeyRing(), SECRET).parseToken(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parseToken - Токен без kid не принимается, если секрет не задан")
+    void parseToken_shouldRejectHmacToken_whenSecretMissing() throws Exception {
+        String hmacToken = jwtService(disabledKeyRing(), SECRET).generateToken(user);
+        writeKeyPair("2026-01");
+
+        Optional<Claims> claims = jwtService(enabledKeyRing(), "").parseToken(hmacToken);
+
+        assertThat(claims).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parseToken - При включённом key ring токен без kid отклоняется, даже если секрет задан")
+    void parseToken_shouldRejectHmacToken_whenKeyRingEnabled() throws Exception {
+        String hmacToken = jwtService(disabledKeyRing(), SECRET).generateToken(user);
+        writeKeyPair("2026-01");
+
+        Optional<Claims> claims = jwtService(enabledKeyRing(), SECRET).parseToken(hmacToken);
+
+        assertThat(claims).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parseToken - Токен без kid принимается только до конца окна миграции")
+    void parseToken_shouldAcceptHmacToken_onlyWithinLegacyWindow() throws Exception {
+        String hmacToken = jwtService(disabledKeyRing(), SECRET).generateToken(user);
+        writeKeyPair("2026-01");
+
+        String future = Instant.now().plus(Duration.ofMinutes(15)).toString();
+        String past = Instant.now().minus(Duration.ofMinutes(1)).toString();
+
+        assertThat(jwtService(enabledKeyRing(), SECRET, future).parseToken(hmacToken)).isPresent();
+        assertThat(jwtService(enabledKeyRing(), SECRET, past).parseToken(hmacToken)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JwtSecretKey - Без key ring и без секрета узел не стартует")
+    void secretKey_shouldBeRequired_whenKeyRingDisabled() {
+        assertThatThrownBy(() -> new JwtSecretKey(disabledKeyRing(), "", ""))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("generateIntegrationToken - Повторный запрос возвращает тот же токен, пока он не близок к истечению")
+    void generateIntegrationToken_shouldReuseCachedToken() {
+        JwtService jwtService = jwtService(disabledKeyRing(), SECRET);
+        SideServiceRequest request = new SideServiceRequest("External-Partner-Service", API_KEY);
+
+        String first = jwtService.generateIntegrationToken(request);
+        String second = jwtService.generateIntegrationToken(request);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(jwtService.parseToken(first))
+                .map(Claims::getSubject)
+                .contains("external-partner-service");
+    }
+
+    @Test
+    @DisplayName("generateIntegrationToken - Неверный ключ или неизвестный сервис отклоняются одинаково")
+    void generateIntegrationToken_shouldRejectBadCredentials() {
+        JwtService jwtService = jwtService(disabledKeyRing(), SECRET);
+
+        assertThatThrownBy(() -> jwtService.generateIntegrationToken(
+                new SideServiceRequest("external-partner-service", "wrong-key")))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid service credentials");
+        assertThatThrownBy(() -> jwtService.generateIntegrationToken(
+                new SideServiceRequest("unknown-service", API_KEY)))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid service credentials");
+    }
+
+    // ===== HELPERS =====
+
+    private JwtService jwtService(JwtKeyRing keyRing, String secret) {
+        return jwtService(keyRing, secret, "");
+    }
+
+    private JwtService jwtService(JwtKeyRing keyRing, String secret, String acceptLegacyUntil) {
+        IntegrationProperties properties = integrationProperties();
+        return new JwtService(keyRing, new IntegrationClientRegistry(properties), properties,
+                new JwtSecretKey(keyRing, secret, acceptLegacyUntil), 60_000);
+    }
+
+    private static IntegrationProperties integrationProperties() {
+        IntegrationProperties.Client client = new IntegrationProperties.Client();
+        client.setName("external-partner-service");
+        client.setApiKeyHash(API_KEY_HASH);
+
+        IntegrationProperties properties = new IntegrationProperties();
+        properties.setTokenExpiration(3_600_000);
+        properties.setTokenRefreshBefore(300_000);
+        properties.setClients(List.of(client));
+        return properties;
+    }
+
+    private JwtKeyRing disabledKeyRing() {
+        return new JwtKeyRing(false, "", "", 0);
+    }
+
+    private JwtKeyRing enabledKeyRing() {
+        JwtKeyRing keyRing = new JwtKeyRing(true, keyDir.toString(), "", 0);
+        keyRing.init();
+        return keyRing;
+    }
+
+    private void writeKeyPair(String kid) throws NoSuchAlgorithmException, IOException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        KeyPair pair = generator.generateKeyPair();
+
+        Files.writeString(keyDir.resolve(kid + ".pub.pem"), pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+        Files.writeString(keyDir.resolve(kid + ".key.pem"), pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+}
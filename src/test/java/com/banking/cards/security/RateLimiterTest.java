@@ -0,0 +1,62 @@
+package com.banking.cards.security;
+
+import com.banking.cards.common.RateLimitCategory;
+import com.banking.cards.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(3);
+        limit.setRequestsPerSecond(0.001);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLimits(Map.of("user", Map.of("card-operations", limit)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Пропускает capacity запросов подряд, затем отказывает с паузой")
+    void tryAcquire_shouldRejectAfterCapacity() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("user-1", "ROLE_USER", RateLimitCategory.CARD_OPERATIONS)).isZero();
+        }
+
+        assertThat(rateLimiter.tryAcquire("user-1", "ROLE_USER", RateLimitCategory.CARD_OPERATIONS)).isPositive();
+        assertThat(meterRegistry.get("cards.ratelimit.requests").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Вёдра разных пользователей независимы")
+    void tryAcquire_shouldKeepSeparateBucketsPerSubject() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user-1", "ROLE_USER", RateLimitCategory.CARD_OPERATIONS);
+        }
+
+        assertThat(rateLimiter.tryAcquire("user-2", "ROLE_USER", RateLimitCategory.CARD_OPERATIONS)).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Без настроенного лимита запросы не ограничиваются")
+    void tryAcquire_shouldAllow_whenNoLimitConfigured() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("partner", "ROLE_INTEGRATION", RateLimitCategory.SIDE_SERVICE)).isZero();
+            assertThat(rateLimiter.tryAcquire("user-1", "ROLE_USER", RateLimitCategory.SIDE_SERVICE)).isZero();
+        }
+    }
+}
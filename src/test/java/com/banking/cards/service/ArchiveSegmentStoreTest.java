@@ -0,0 +1,132 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.ArchiveTable;
+import com.banking.cards.config.ArchiveProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveSegmentStoreTest {
+
+    private static final String CARD = "4276550012345678";
+    private static final String OTHER_CARD = "4276550098765432";
+
+    @TempDir
+    private Path archiveRoot;
+
+    private ArchiveSegmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setPath(archiveRoot.toString());
+        store = new ArchiveSegmentStore(properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("write/search - Находит записанные строки по карте и периоду")
+    void search_shouldFindRowsWrittenForCard() {
+        // Arrange
+        store.write(ArchiveTable.CARD_OPERATIONS, LocalDate.of(2025, 3, 14), List.of(
+                operation(1, "2025-03-14T09:00:00Z", null, CARD),
+                operation(2, "2025-03-14T10:00:00Z", OTHER_CARD, null),
+                operation(3, "2025-03-14T11:00:00Z", CARD, OTHER_CARD)
+        ));
+
+        // Act
+        List<String[]> found = store.search(ArchiveTable.CARD_OPERATIONS, CARD,
+                Instant.parse("2025-03-01T00:00:00Z"), Instant.parse("2025-03-31T23:59:59Z"), 100);
+
+        // Assert
+        assertThat(found).extracting(row -> row[0]).containsExactly("1", "3");
+        assertThat(found.get(1)).containsExactly("3", "2025-03-14T11:00:00Z", "TRANSFER", "100.00", CARD, OTHER_CARD);
+    }
+
+    @Test
+    @DisplayName("write - Раскладывает сегмент и индекс по каталогу дня")
+    void write_shouldCreateSegmentAndIndexInDayDirectory() {
+        // Act
+        store.write(ArchiveTable.CARD_OPERATIONS, LocalDate.of(2025, 3, 14), List.of(
+                operation(5, "2025-03-14T09:00:00Z", null, CARD),
+                operation(7, "2025-03-14T10:00:00Z", null, CARD)
+        ));
+
+        // Assert
+        Path day = archiveRoot.resolve("card_operations/2025/03/14");
+        assertThat(Files.exists(day.resolve("5-7.seg.gz"))).isTrue();
+        assertThat(Files.exists(day.resolve("5-7.idx.json"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("search - Не возвращает строки вне периода и чужих карт")
+    void search_shouldSkipOtherPeriodsAndCards() {
+        // Arrange
+        store.write(ArchiveTable.CARD_OPERATIONS, LocalDate.of(2025, 3, 14), List.<String[]>of(
+                operation(1, "2025-03-14T09:00:00Z", null, CARD)
+        ));
+
+        // Act & Assert
+        assertThat(store.search(ArchiveTable.CARD_OPERATIONS, CARD,
+                Instant.parse("2025-04-01T00:00:00Z"), Instant.parse("2025-04-30T23:59:59Z"), 100)).isEmpty();
+        assertThat(store.search(ArchiveTable.CARD_OPERATIONS, OTHER_CARD,
+                Instant.parse("2025-03-01T00:00:00Z"), Instant.parse("2025-03-31T23:59:59Z"), 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search - Ограничивает число найденных строк")
+    void search_shouldRespectLimit() {
+        // Arrange
+        store.write(ArchiveTable.AUDIT_LOGS, LocalDate.of(2025, 3, 14), List.of(
+                auditLog(1, "2025-03-14T09:00:00Z"),
+                auditLog(2, "2025-03-14T09:30:00Z"),
+                auditLog(3, "2025-03-14T10:00:00Z")
+        ));
+
+        // Act
+        List<String[]> found = store.search(ArchiveTable.AUDIT_LOGS, CARD,
+                Instant.parse("2025-03-14T00:00:00Z"), Instant.parse("2025-03-14T23:59:59Z"), 2);
+
+        // Assert
+        assertThat(found).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("search - Период в тысячи лет обходит только существующие каталоги дней по порядку")
+    void search_shouldWalkOnlyExistingDays_forLongRange() {
+        // Arrange
+        store.write(ArchiveTable.CARD_OPERATIONS, LocalDate.of(2025, 3, 14), List.<String[]>of(
+                operation(3, "2025-03-14T09:00:00Z", null, CARD)));
+        store.write(ArchiveTable.CARD_OPERATIONS, LocalDate.of(2024, 12, 31), List.<String[]>of(
+                operation(1, "2024-12-31T23:00:00Z", null, CARD)));
+        store.write(ArchiveTable.CARD_OPERATIONS, LocalDate.of(2025, 1, 1), List.<String[]>of(
+                operation(2, "2025-01-01T01:00:00Z", null, CARD)));
+        store.write(ArchiveTable.CARD_OPERATIONS, LocalDate.of(2025, 3, 20), List.<String[]>of(
+                operation(4, "2025-03-20T09:00:00Z", null, CARD)));
+
+        // Act
+        List<String[]> found = store.search(ArchiveTable.CARD_OPERATIONS, CARD,
+                Instant.parse("0001-01-01T00:00:00Z"), Instant.parse("2025-03-15T00:00:00Z"), 100);
+
+        // Assert
+        assertThat(found).extracting(row -> row[0]).containsExactly("1", "2", "3");
+    }
+
+    private static String[] operation(long id, String createdAt, String fromCard, String toCard) {
+        String type = fromCard != null && toCard != null ? "TRANSFER" : fromCard != null ? "WITHDRAW" : "DEPOSIT";
+        return new String[]{String.valueOf(id), createdAt, type, "100.00", fromCard, toCard};
+    }
+
+    private static String[] auditLog(long id, String createdAt) {
+        return new String[]{String.valueOf(id), createdAt, "admin", "ADMIN", "CARD_DEPOSIT", "CARD", CARD, "amount=100"};
+    }
+}
@@ -0,0 +1,99 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.audit.AuditAction;
+import com.banking.cards.common.audit.AuditEntityType;
+import com.banking.cards.entity.AuditLog;
+import com.banking.cards.repository.AuditLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditServiceTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Captor
+    private ArgumentCaptor<AuditLog> logCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<AuditLog>> logsCaptor;
+
+    @InjectMocks
+    private AuditService auditService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "550e8400-e29b-41d4-a716-446655440000", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("log - Дописывает id трейса из MDC в details")
+    void log_shouldAppendTraceId() {
+        // Arrange
+        MDC.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+
+        // Act
+        auditService.log(AuditAction.CARD_DEPOSIT, AuditEntityType.CARD, "4276550012345678", "amount=100");
+
+        // Assert
+        verify(auditLogRepository).save(logCaptor.capture());
+        assertThat(logCaptor.getValue().getDetails())
+                .isEqualTo("amount=100;traceId=4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
+    @Test
+    @DisplayName("log - Без трейса details не меняются")
+    void log_withoutTrace_shouldKeepDetails() {
+        // Act
+        auditService.log(AuditAction.CARD_DEPOSIT, AuditEntityType.CARD, "4276550012345678", "amount=100");
+
+        // Assert
+        verify(auditLogRepository).save(logCaptor.capture());
+        assertThat(logCaptor.getValue().getDetails()).isEqualTo("amount=100");
+    }
+
+    @Test
+    @DisplayName("logAll - Все записи пачки получают id трейса")
+    void logAll_shouldAppendTraceIdToEveryEntry() {
+        // Arrange
+        MDC.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+
+        // Act
+        auditService.logAll(List.of(
+                new AuditService.Entry(AuditAction.CARD_TRANSFER_OUT, AuditEntityType.CARD, "4276550012345678", "amount=1"),
+                new AuditService.Entry(AuditAction.CARD_TRANSFER_IN, AuditEntityType.CARD, "4276550098765432", null)
+        ));
+
+        // Assert
+        verify(auditLogRepository).saveAll(logsCaptor.capture());
+        assertThat(logsCaptor.getValue()).extracting(AuditLog::getDetails).containsExactly(
+                "amount=1;traceId=4bf92f3577b34da6a3ce929d0e0e4736",
+                "traceId=4bf92f3577b34da6a3ce929d0e0e4736"
+        );
+    }
+}
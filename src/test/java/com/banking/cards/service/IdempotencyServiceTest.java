@@ -0,0 +1,152 @@
+package com.banking.cards.service;
+
+import com.banking.cards.dto.request.CardNumberAndAmountRequest;
+import com.banking.cards.entity.IdempotencyKey;
+import com.banking.cards.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final String KEY = "c7a1f0d2-retry-1";
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<IdempotencyKey> keyCaptor;
+
+    private IdempotencyService idempotencyService;
+
+    private final CardNumberAndAmountRequest request =
+            new CardNumberAndAmountRequest("4276550012345678", new BigDecimal("100.00"));
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = newService();
+    }
+
+    @Test
+    @DisplayName("execute - Первый запрос выполняет операцию и сохраняет ключ")
+    void execute_shouldRunActionAndStoreKey_whenKeyIsNew() {
+        when(repository.findByUserKeyAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyKey.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        boolean replayed = idempotencyService.execute(USER_ID, KEY, "deposit", request, executions::incrementAndGet);
+
+        assertThat(replayed).isFalse();
+        assertThat(executions).hasValue(1);
+        verify(repository).saveAndFlush(keyCaptor.capture());
+        assertThat(keyCaptor.getValue().getUserKey()).isEqualTo(USER_ID);
+        assertThat(keyCaptor.getValue().getIdempotencyKey()).isEqualTo(KEY);
+        assertThat(keyCaptor.getValue().getRequestHash()).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("execute - Повтор на том же узле отвечает из кэша без обращения к БД")
+    void execute_shouldReplayFromCache_whenKeyWasJustUsed() {
+        when(repository.findByUserKeyAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyKey.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        idempotencyService.execute(USER_ID, KEY, "deposit", request, executions::incrementAndGet);
+        boolean replayed = idempotencyService.execute(USER_ID, KEY, "deposit", request, executions::incrementAndGet);
+
+        assertThat(replayed).isTrue();
+        assertThat(executions).hasValue(1);
+        verify(repository, times(1)).findByUserKeyAndIdempotencyKey(USER_ID, KEY);
+    }
+
+    @Test
+    @DisplayName("execute - Ключ, сохранённый другим узлом, не выполняет операцию повторно")
+    void execute_shouldReplayFromDatabase_whenKeyStoredByAnotherNode() {
+        IdempotencyKey stored = storeKey();
+        IdempotencyService otherNode = newService();
+        when(repository.findByUserKeyAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.of(stored));
+
+        boolean replayed = otherNode.execute(USER_ID, KEY, "deposit", request, executions::incrementAndGet);
+
+        assertThat(replayed).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute - Ошибка 409, если ключ переиспользован для другого запроса")
+    void execute_shouldThrow_whenKeyReusedForDifferentRequest() {
+        storeKey();
+        CardNumberAndAmountRequest other = new CardNumberAndAmountRequest("4276550012345678", new BigDecimal("999.00"));
+
+        assertThatThrownBy(() -> idempotencyService.execute(USER_ID, KEY, "deposit", other, executions::incrementAndGet))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Idempotency key was already used for a different request");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute - Параллельный дубль, проигравший на уникальном индексе, отвечает как повтор")
+    void execute_shouldReplay_whenConcurrentDuplicateWinsUniqueIndex() {
+        IdempotencyKey winner = storeKey();
+        IdempotencyService otherNode = newService();
+        when(repository.findByUserKeyAndIdempotencyKey(USER_ID, KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(repository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_idempotency_keys_user_key"));
+
+        boolean replayed = otherNode.execute(USER_ID, KEY, "deposit", request, executions::incrementAndGet);
+
+        assertThat(replayed).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute - Ошибка 400 при слишком длинном ключе")
+    void execute_shouldThrow_whenKeyTooLong() {
+        assertThatThrownBy(() -> idempotencyService.execute(USER_ID, "k".repeat(65), "deposit", request, executions::incrementAndGet))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    private IdempotencyService newService() {
+        return new IdempotencyService(repository, transactionManager, new ObjectMapper(), 86_400_000, 100);
+    }
+
+    /**
+     * Выполняет первый запрос и возвращает сохранённую строку ключа.
+     */
+    private IdempotencyKey storeKey() {
+        when(repository.findByUserKeyAndIdempotencyKey(USER_ID, KEY)).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyKey.class))).thenAnswer(inv -> inv.getArgument(0));
+        idempotencyService.execute(USER_ID, KEY, "deposit", request, executions::incrementAndGet);
+
+        verify(repository).saveAndFlush(keyCaptor.capture());
+        return keyCaptor.getValue();
+    }
+}
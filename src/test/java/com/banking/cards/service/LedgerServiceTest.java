@@ -0,0 +1,149 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.CardOperationType;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.CardOperation;
+import com.banking.cards.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private LedgerEntryRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> legsCaptor;
+
+    @InjectMocks
+    private LedgerService ledgerService;
+
+    private Card from;
+    private Card to;
+    private Instant createdAt;
+
+    @BeforeEach
+    void setUp() {
+        from = Card.builder().id(1L).balance(BigDecimal.ZERO).build();
+        to = Card.builder().id(2L).balance(BigDecimal.ZERO).build();
+        createdAt = Instant.now();
+    }
+
+    @Test
+    @DisplayName("record - Пополнение списывается с внешнего счёта на карту")
+    void record_deposit_shouldDebitExternalAccount() {
+        // Arrange
+        CardOperation operation = operation(null, to, CardOperationType.DEPOSIT);
+
+        // Act
+        ledgerService.record(operation);
+
+        // Assert
+        verify(repository).insertLegs(10L, null, 2L, "DEPOSIT", new BigDecimal("100.00"), createdAt);
+    }
+
+    @Test
+    @DisplayName("record - Снятие списывается с карты на внешний счёт")
+    void record_withdraw_shouldCreditExternalAccount() {
+        // Arrange
+        CardOperation operation = operation(from, null, CardOperationType.WITHDRAW);
+
+        // Act
+        ledgerService.record(operation);
+
+        // Assert
+        verify(repository).insertLegs(10L, 1L, null, "WITHDRAW", new BigDecimal("100.00"), createdAt);
+    }
+
+    @Test
+    @DisplayName("record - Перевод даёт ноги по обеим картам")
+    void record_transfer_shouldPostBothCards() {
+        // Arrange
+        CardOperation operation = operation(from, to, CardOperationType.TRANSFER);
+
+        // Act
+        ledgerService.record(operation);
+
+        // Assert
+        verify(repository).insertLegs(10L, 1L, 2L, "TRANSFER", new BigDecimal("100.00"), createdAt);
+    }
+
+    @Test
+    @DisplayName("recordAll - Пишет по две ноги на операцию одним батчем")
+    void recordAll_shouldBatchTwoLegsPerOperation() {
+        // Arrange
+        CardOperation first = operation(from, to, CardOperationType.TRANSFER);
+        CardOperation second = operation(to, from, CardOperationType.TRANSFER);
+        second.setId(11L);
+
+        // Act
+        ledgerService.recordAll(List.of(first, second));
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(anyString(), legsCaptor.capture(), any(int[].class));
+        List<Object[]> legs = legsCaptor.getValue();
+        assertThat(legs).hasSize(4);
+        assertThat(legs.get(0)).containsExactly(10L, 1L, "TRANSFER", new BigDecimal("-100.00"), Timestamp.from(createdAt));
+        assertThat(legs.get(3)).containsExactly(11L, 1L, "TRANSFER", new BigDecimal("100.00"), Timestamp.from(createdAt));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("recordOpeningBalance - Записывает входящий остаток карты")
+    void recordOpeningBalance_shouldPostOpeningLegs() {
+        // Arrange
+        to.setBalance(new BigDecimal("500.00"));
+
+        // Act
+        ledgerService.recordOpeningBalance(to);
+
+        // Assert
+        verify(repository).insertLegs(isNull(), isNull(), eq(2L), eq("OPENING"), eq(new BigDecimal("500.00")), any());
+    }
+
+    @Test
+    @DisplayName("recordOpeningBalance - Не пишет проводки для нулевого баланса")
+    void recordOpeningBalance_zeroBalance_shouldSkip() {
+        // Act
+        ledgerService.recordOpeningBalance(to);
+
+        // Assert
+        verifyNoInteractions(repository);
+    }
+
+    private CardOperation operation(Card fromCard, Card toCard, CardOperationType type) {
+        return CardOperation.builder()
+                .id(10L)
+                .fromCard(fromCard)
+                .toCard(toCard)
+                .type(type)
+                .amount(new BigDecimal("100.00"))
+                .createdAt(createdAt)
+                .build();
+    }
+}
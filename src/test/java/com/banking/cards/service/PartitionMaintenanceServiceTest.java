@@ -0,0 +1,108 @@
+package com.banking.cards.service;
+
+import com.banking.cards.config.PartitionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceServiceTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_y'yyyy'm'MM");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private PartitionProperties properties = new PartitionProperties();
+
+    @InjectMocks
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    private PartitionProperties.Table table;
+    private YearMonth currentMonth;
+
+    @BeforeEach
+    void setUp() {
+        table = new PartitionProperties.Table();
+        table.setName("card_operations");
+        properties.setMonthsAhead(2);
+        properties.setTables(List.of(table));
+        currentMonth = YearMonth.now();
+    }
+
+    @Test
+    @DisplayName("maintain - Создаёт партиции на текущий и следующие месяцы")
+    void maintain_shouldCreateUpcomingPartitions() {
+        // Act
+        partitionMaintenanceService.maintain();
+
+        // Assert
+        verify(jdbcTemplate, times(3)).queryForObject(
+                eq("SELECT create_monthly_partition(?, ?)"), eq(String.class), eq("card_operations"), any(Date.class));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq("card_operations"),
+                eq(Date.valueOf(currentMonth.plusMonths(2).atDay(1))));
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any());
+    }
+
+    @Test
+    @DisplayName("maintain - Отсоединяет только партиции старше срока хранения")
+    void maintain_shouldDetachExpiredPartitions() {
+        // Arrange
+        table.setRetentionMonths(2);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("card_operations")))
+                .thenReturn(List.of(
+                        "card_operations_default",
+                        partition(currentMonth),
+                        partition(currentMonth.minusMonths(2)),
+                        partition(currentMonth.minusMonths(3))
+                ));
+
+        // Act
+        partitionMaintenanceService.maintain();
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE \"card_operations\" DETACH PARTITION \""
+                + partition(currentMonth.minusMonths(3)) + "\"");
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("maintain - Удаляет партиции старше срока хранения в режиме DROP")
+    void maintain_shouldDropExpiredPartitions_whenRetentionActionIsDrop() {
+        // Arrange
+        table.setRetentionMonths(1);
+        table.setRetentionAction(PartitionProperties.RetentionAction.DROP);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("card_operations")))
+                .thenReturn(List.of(partition(currentMonth.minusMonths(2))));
+
+        // Act
+        partitionMaintenanceService.maintain();
+
+        // Assert
+        verify(jdbcTemplate).execute("DROP TABLE \"" + partition(currentMonth.minusMonths(2)) + "\"");
+    }
+
+    private static String partition(YearMonth month) {
+        return "card_operations" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,201 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.Role;
+import com.banking.cards.dto.response.JwtResponse;
+import com.banking.cards.entity.RefreshToken;
+import com.banking.cards.entity.User;
+import com.banking.cards.repository.RefreshTokenRepository;
+import com.banking.cards.security.JwtService;
+import com.banking.cards.security.SecurityUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Captor
+    private ArgumentCaptor<RefreshToken> tokenCaptor;
+
+    private RefreshTokenService refreshTokenService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(repository, jwtService, 60_000);
+
+        testUser = User.builder()
+                .id(1L)
+                .uniqueKey(UUID.fromString("550e8400-e29b-41d4-a716-446655440000"))
+                .username("testuser")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("issue - В БД сохраняется хэш, а не сам токен")
+    void issue_shouldStoreOnlyHash() {
+        String rawToken = refreshTokenService.issue(testUser);
+
+        verify(repository).save(tokenCaptor.capture());
+        RefreshToken saved = tokenCaptor.getValue();
+
+        assertThat(saved.getTokenHash()).hasSize(64).isNotEqualTo(rawToken);
+        assertThat(saved.getUser()).isEqualTo(testUser);
+        assertThat(saved.isRevoked()).isFalse();
+        assertThat(saved.getExpiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    @DisplayName("refresh - Выдаёт новую пару токенов и отзывает предъявленный")
+    void refresh_shouldRotateToken() {
+        RefreshToken stored = storedToken(false, Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(repository.revokeIfActive(anyString())).thenReturn(1);
+        when(jwtService.generateToken(any(SecurityUser.class))).thenReturn("access-token");
+
+        JwtResponse response = refreshTokenService.refresh("raw-token");
+
+        assertThat(response.token()).isEqualTo("access-token");
+        assertThat(response.refreshToken()).isNotBlank().isNotEqualTo("raw-token");
+        verify(repository).revokeIfActive(anyString());
+        verify(repository, never()).revokeAllByUser(any());
+    }
+
+    @Test
+    @DisplayName("refresh - Токен, отозванный параллельным refresh после чтения, считается повторным использованием")
+    void refresh_shouldRevokeAll_whenConcurrentRefreshRevokedFirst() {
+        RefreshToken stored = storedToken(false, Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(repository.revokeIfActive(anyString())).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("raw-token"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid refresh token");
+
+        verify(repository).revokeAllByUser(testUser);
+        verify(jwtService, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("refresh - Из двух параллельных refresh одного токена новую пару получает только один")
+    void refresh_shouldIssueSinglePair_whenRefreshedConcurrently() throws Exception {
+        // Оба потока читают токен неотозванным; отзыв ведёт себя как условный UPDATE в БД
+        when(repository.findByTokenHash(anyString()))
+                .thenAnswer(invocation -> Optional.of(storedToken(false, Instant.now().plusSeconds(60))));
+        AtomicBoolean revokedInDb = new AtomicBoolean();
+        when(repository.revokeIfActive(anyString()))
+                .thenAnswer(invocation -> revokedInDb.compareAndSet(false, true) ? 1 : 0);
+        when(jwtService.generateToken(any(SecurityUser.class))).thenReturn("access-token");
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        refreshTokenService.refresh("raw-token");
+                        return true;
+                    } catch (BadCredentialsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int issued = 0;
+            for (Future<Boolean> result : results) {
+                issued += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            }
+
+            assertThat(issued).isEqualTo(1);
+            verify(jwtService, times(1)).generateToken(any(SecurityUser.class));
+            verify(repository, times(1)).revokeAllByUser(testUser);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("refresh - Повторное использование отозванного токена отзывает все токены пользователя")
+    void refresh_shouldRevokeAll_whenTokenReused() {
+        RefreshToken stored = storedToken(true, Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("raw-token"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid refresh token");
+
+        verify(repository).revokeAllByUser(testUser);
+        verify(jwtService, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("refresh - Истёкший токен отклоняется")
+    void refresh_shouldThrow_whenExpired() {
+        RefreshToken stored = storedToken(false, Instant.now().minusSeconds(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("raw-token"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Refresh token expired");
+
+        verify(jwtService, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("refresh - Неизвестный токен отклоняется")
+    void refresh_shouldThrow_whenUnknown() {
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.refresh("raw-token"))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    private RefreshToken storedToken(boolean revoked, Instant expiresAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .tokenHash("hash")
+                .user(testUser)
+                .revoked(revoked)
+                .expiresAt(expiresAt)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.banking.cards.service;
+
+import com.banking.cards.common.Constants;
+import com.banking.cards.common.ScheduledTransferStatus;
+import com.banking.cards.config.ScheduledTransferProperties;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.ScheduledTransfer;
+import com.banking.cards.repository.ScheduledTransferRepository;
+import com.banking.cards.service.user.UserCardOperationService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferExecutorTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID TOKEN = UUID.fromString("6f1c2b8e-0d7a-4c55-9a3e-2b1f4e6d8c90");
+    private static final String FROM = "4276550012345678";
+    private static final String TO = "4276550098765432";
+    private static final BigDecimal AMOUNT = new BigDecimal("250.00");
+
+    @Mock
+    private ScheduledTransferRepository repository;
+
+    @Mock
+    private UserCardOperationService userCardOperationService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduledTransferExecutor executor;
+    private ScheduledTransfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ScheduledTransferExecutor(
+                repository,
+                userCardOperationService,
+                jdbcTemplate,
+                new ScheduledTransferProperties(),
+                transactionManager
+        );
+
+        transfer = ScheduledTransfer.builder()
+                .id(1L)
+                .userKey(USER_ID)
+                .fromCard(Card.builder().id(10L).cardNumber(FROM).build())
+                .toCard(Card.builder().id(11L).cardNumber(TO).build())
+                .amount(AMOUNT)
+                .status(ScheduledTransferStatus.RUNNING)
+                .claimToken(TOKEN)
+                .attempts(1)
+                .build();
+    }
+
+    @Test
+    @DisplayName("execute - Выполняет перевод от имени владельца и помечает DONE")
+    void execute_shouldTransferAsOwnerAndMarkDone() {
+        // Arrange
+        when(repository.lockById(1L)).thenReturn(Optional.of(transfer));
+        AtomicReference<Object> principal = new AtomicReference<>();
+        doAnswer(inv -> {
+            principal.set(SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            return null;
+        }).when(userCardOperationService).transfer(FROM, TO, AMOUNT, USER_ID);
+
+        // Act
+        executor.execute(1L, TOKEN);
+
+        // Assert
+        verify(userCardOperationService).transfer(FROM, TO, AMOUNT, USER_ID);
+        assertThat(principal.get()).isEqualTo(USER_ID.toString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(transfer.getStatus()).isEqualTo(ScheduledTransferStatus.DONE);
+        assertThat(transfer.getExecutedAt()).isNotNull();
+        assertThat(transfer.getClaimToken()).isNull();
+    }
+
+    @Test
+    @DisplayName("execute - Пропускает перевод, который забрал другой узел")
+    void execute_shouldSkipWhenClaimedByAnotherNode() {
+        // Arrange
+        transfer.setClaimToken(UUID.randomUUID());
+        when(repository.lockById(1L)).thenReturn(Optional.of(transfer));
+
+        // Act
+        executor.execute(1L, TOKEN);
+
+        // Assert
+        verify(userCardOperationService, never()).transfer(any(), any(), any(), any());
+        assertThat(transfer.getStatus()).isEqualTo(ScheduledTransferStatus.RUNNING);
+    }
+
+    @Test
+    @DisplayName("execute - Отказ по бизнес-причине окончательно помечает перевод FAILED")
+    void execute_businessFailure_shouldMarkFailed() {
+        // Arrange
+        when(repository.lockById(1L)).thenReturn(Optional.of(transfer));
+        doThrow(new IllegalStateException("Insufficient funds"))
+                .when(userCardOperationService).transfer(FROM, TO, AMOUNT, USER_ID);
+
+        // Act
+        executor.execute(1L, TOKEN);
+
+        // Assert
+        verify(jdbcTemplate).update(anyString(), eq("FAILED"), any(Timestamp.class),
+                eq("Insufficient funds"), eq(1L), eq(TOKEN));
+    }
+
+    @Test
+    @DisplayName("execute - Повторяемый IllegalStateException возвращает перевод в PENDING, а не FAILED")
+    void execute_retryableIllegalState_shouldReschedule() {
+        // Arrange
+        when(repository.lockById(1L)).thenReturn(Optional.of(transfer));
+        doThrow(new IllegalStateException("Card balance layout changed, retry the operation"))
+                .when(userCardOperationService).transfer(FROM, TO, AMOUNT, USER_ID);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(1L))).thenReturn(1);
+
+        // Act
+        executor.execute(1L, TOKEN);
+
+        // Assert
+        verify(jdbcTemplate).update(anyString(), eq("PENDING"), any(Timestamp.class),
+                eq("Card balance layout changed, retry the operation"), eq(1L), eq(TOKEN));
+    }
+
+    @Test
+    @DisplayName("isRefusal - Окончательны только отказы по бизнес-причинам")
+    void isRefusal_shouldClassifyFailures() {
+        assertThat(ScheduledTransferExecutor.isRefusal(new IllegalStateException(Constants.INSUFFICIENT_FUNDS))).isTrue();
+        assertThat(ScheduledTransferExecutor.isRefusal(new IllegalStateException(Constants.CARD_NOT_ACTIVE))).isTrue();
+        assertThat(ScheduledTransferExecutor.isRefusal(new EntityNotFoundException("Card not found"))).isTrue();
+        assertThat(ScheduledTransferExecutor.isRefusal(new IllegalStateException("Other"))).isFalse();
+        assertThat(ScheduledTransferExecutor.isRefusal(new QueryTimeoutException("timeout"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("execute - Сбой инфраструктуры возвращает перевод в PENDING с паузой")
+    void execute_infrastructureFailure_shouldRescheduleWithBackoff() {
+        // Arrange
+        when(repository.lockById(1L)).thenReturn(Optional.of(transfer));
+        doThrow(new QueryTimeoutException("timeout"))
+                .when(userCardOperationService).transfer(FROM, TO, AMOUNT, USER_ID);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(1L))).thenReturn(1);
+        Instant before = Instant.now();
+
+        // Act
+        executor.execute(1L, TOKEN);
+
+        // Assert
+        verify(jdbcTemplate).update(anyString(), eq("PENDING"),
+                argThat((Timestamp dueAt) -> dueAt.toInstant().isAfter(before)),
+                eq("timeout"), eq(1L), eq(TOKEN));
+    }
+}
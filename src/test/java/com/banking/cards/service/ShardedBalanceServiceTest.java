@@ -0,0 +1,171 @@
+package com.banking.cards.service;
+
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.CardBalanceShard;
+import com.banking.cards.repository.CardBalanceShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedBalanceServiceTest {
+
+    private static final long CARD_ID = 1L;
+
+    @Mock
+    private CardBalanceShardRepository repository;
+
+    @Captor
+    private ArgumentCaptor<CardBalanceShard> shardCaptor;
+
+    @InjectMocks
+    private ShardedBalanceService shardedBalanceService;
+
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        card = Card.builder()
+                .id(CARD_ID)
+                .cardNumber("4276550012345678")
+                .balance(BigDecimal.ZERO)
+                .balanceShards(4)
+                .build();
+    }
+
+    @Test
+    @DisplayName("deposit - Зачисляет сумму в один из незанятых шардов карты")
+    void deposit_shouldCreditOneShard() {
+        BigDecimal amount = new BigDecimal("100.00");
+        when(repository.tryCreditUnlocked(eq(CARD_ID), anyInt(), eq(amount))).thenReturn(1);
+
+        shardedBalanceService.deposit(card, amount);
+
+        ArgumentCaptor<Integer> shard = ArgumentCaptor.forClass(Integer.class);
+        verify(repository).tryCreditUnlocked(eq(CARD_ID), shard.capture(), eq(amount));
+        assertThat(shard.getValue()).isBetween(0, 3);
+        verify(repository, never()).credit(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("deposit - Ждёт блокировки шарда, только если заняты все")
+    void deposit_shouldWaitForShard_whenAllShardsLocked() {
+        BigDecimal amount = new BigDecimal("100.00");
+        when(repository.tryCreditUnlocked(eq(CARD_ID), anyInt(), eq(amount))).thenReturn(0);
+        when(repository.credit(eq(CARD_ID), anyInt(), eq(amount))).thenReturn(1);
+
+        shardedBalanceService.deposit(card, amount);
+
+        verify(repository, times(4)).tryCreditUnlocked(eq(CARD_ID), anyInt(), eq(amount));
+        verify(repository).credit(eq(CARD_ID), anyInt(), eq(amount));
+    }
+
+    @Test
+    @DisplayName("deposit - Бросает исключение, если шарды удалены параллельно")
+    void deposit_shouldThrow_whenShardMissing() {
+        when(repository.credit(eq(CARD_ID), anyInt(), eq(BigDecimal.TEN))).thenReturn(0);
+
+        assertThatThrownBy(() -> shardedBalanceService.deposit(card, BigDecimal.TEN))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("withdraw - Останавливается на первом шарде с достаточным балансом")
+    void withdraw_shouldStopAtFirstShardWithEnoughFunds() {
+        BigDecimal amount = new BigDecimal("50.00");
+        when(repository.tryDebitUnlocked(eq(CARD_ID), anyInt(), eq(amount))).thenReturn(0, 1);
+
+        shardedBalanceService.withdraw(card, amount);
+
+        verify(repository, times(2)).tryDebitUnlocked(eq(CARD_ID), anyInt(), eq(amount));
+        verify(repository, never()).tryDebit(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("withdraw - Ждёт блокировки шарда, если незанятые шарды не подошли")
+    void withdraw_shouldWaitForLockedShards_beforeConsolidating() {
+        BigDecimal amount = new BigDecimal("50.00");
+        when(repository.tryDebit(eq(CARD_ID), anyInt(), eq(amount))).thenReturn(0, 0, 1);
+
+        shardedBalanceService.withdraw(card, amount);
+
+        verify(repository, times(4)).tryDebitUnlocked(eq(CARD_ID), anyInt(), eq(amount));
+        verify(repository, times(3)).tryDebit(eq(CARD_ID), anyInt(), eq(amount));
+        verify(repository, never()).lockAllByCardId(anyLong());
+    }
+
+    @Test
+    @DisplayName("withdraw - Собирает баланс в нулевой шард, если ни в одном нет всей суммы")
+    void withdraw_shouldConsolidate_whenNoShardHasEnoughFunds() {
+        BigDecimal amount = new BigDecimal("150.00");
+        when(repository.tryDebit(eq(CARD_ID), anyInt(), eq(amount))).thenReturn(0, 0, 0, 0, 1);
+
+        shardedBalanceService.withdraw(card, amount);
+
+        verify(repository).lockAllByCardId(CARD_ID);
+        verify(repository).consolidate(CARD_ID);
+        verify(repository, times(4)).tryDebitUnlocked(eq(CARD_ID), anyInt(), eq(amount));
+        verify(repository, times(5)).tryDebit(eq(CARD_ID), anyInt(), eq(amount));
+    }
+
+    @Test
+    @DisplayName("withdraw - Ошибка при недостаточном суммарном балансе")
+    void withdraw_shouldThrow_whenTotalIsInsufficient() {
+        BigDecimal amount = new BigDecimal("500.00");
+        when(repository.tryDebit(eq(CARD_ID), anyInt(), eq(amount))).thenReturn(0);
+
+        assertThatThrownBy(() -> shardedBalanceService.withdraw(card, amount))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Insufficient funds");
+    }
+
+    @Test
+    @DisplayName("enable - Переносит баланс карты в нулевой шард")
+    void enable_shouldMoveBalanceToFirstShard() {
+        Card plain = Card.builder()
+                .id(CARD_ID)
+                .balance(new BigDecimal("700.00"))
+                .build();
+
+        shardedBalanceService.enable(plain, 3);
+
+        verify(repository, times(3)).save(shardCaptor.capture());
+        assertThat(shardCaptor.getAllValues())
+                .extracting(CardBalanceShard::getBalance)
+                .containsExactly(new BigDecimal("700.00"), BigDecimal.ZERO, BigDecimal.ZERO);
+        assertThat(plain.getBalance()).isEqualTo(BigDecimal.ZERO);
+        assertThat(plain.getBalanceShards()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("disable - Возвращает сумму шардов в баланс карты")
+    void disable_shouldFoldShardsIntoCardBalance() {
+        when(repository.sumBalance(CARD_ID)).thenReturn(new BigDecimal("30.00"));
+
+        shardedBalanceService.disable(card);
+
+        verify(repository).lockAllByCardId(CARD_ID);
+        verify(repository).deleteAllByCardId(CARD_ID);
+        assertThat(card.getBalance()).isEqualByComparingTo("30.00");
+        assertThat(card.getBalanceShards()).isZero();
+    }
+}
@@ -14,6 +14,9 @@ import com.banking.cards.mapper.CardMapper;
 import com.banking.cards.repository.CardRepository;
 import com.banking.cards.repository.UserRepository;
 import com.banking.cards.service.AuditService;
+import com.banking.cards.service.CardBalanceService;
+import com.banking.cards.service.LedgerService;
+import com.banking.cards.service.ShardedBalanceService;
 import com.banking.cards.util.CardNumberGenerator;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -64,6 +67,15 @@ class AdminCardServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private CardBalanceService cardBalanceService;
+
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
+    @Mock
+    private LedgerService ledgerService;
+
     @InjectMocks
     private AdminCardService adminCardService;
 
@@ -286,6 +298,69 @@ class AdminCardServiceTest {
         verifyNoInteractions(auditService);
     }
 
+    @Test
+    @DisplayName("deleteCard - Бросает исключение, если у карты есть средства вне cards.balance")
+    void deleteCard_shouldThrowException_whenUnsettledFundsExist() {
+        // Arrange
+        when(cardRepository.findByCardNumber("4276550012345678"))
+                .thenReturn(Optional.of(testCard));
+        when(cardBalanceService.hasUnsettledFunds(testCard)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> adminCardService.deleteCard("4276550012345678"))
+                .isInstanceOf(BadBalanceException.class)
+                .hasMessage("Card balance should be zero");
+
+        verify(cardRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("changeHotMode - Включает hot-режим и пишет аудит")
+    void changeHotMode_shouldEnableHotModeAndLogAudit() {
+        // Arrange
+        Card card = Card.builder()
+                .cardNumber("4276550012345678")
+                .owner(testUser)
+                .status(CardStatus.ACTIVE)
+                .build();
+
+        when(cardRepository.findByCardNumber("4276550012345678"))
+                .thenReturn(Optional.of(card));
+
+        // Act
+        adminCardService.changeHotMode("4276550012345678", true);
+
+        // Assert
+        assertThat(card.isHot()).isTrue();
+        verify(auditService).log(
+                eq(AuditAction.CARD_HOT_MODE_CHANGED),
+                eq(AuditEntityType.CARD),
+                eq("4276550012345678"),
+                eq("hot=true")
+        );
+    }
+
+    @Test
+    @DisplayName("changeBalanceShards - Бросает исключение для карты в hot-режиме")
+    void changeBalanceShards_shouldThrowException_whenCardIsHot() {
+        // Arrange
+        Card card = Card.builder()
+                .cardNumber("4276550012345678")
+                .owner(testUser)
+                .hot(true)
+                .build();
+
+        when(cardRepository.findByCardNumber("4276550012345678"))
+                .thenReturn(Optional.of(card));
+
+        // Act & Assert
+        assertThatThrownBy(() -> adminCardService.changeBalanceShards("4276550012345678", 8))
+                .isInstanceOf(IllegalStateException.class);
+
+        verifyNoInteractions(shardedBalanceService);
+        verifyNoInteractions(auditService);
+    }
+
     @Test
     @DisplayName("changeStatus - Успешное изменение статуса карты")
     void changeStatus_shouldChangeStatusAndLogAudit() {
@@ -14,6 +14,7 @@ import com.banking.cards.mapper.CardMapper;
 import com.banking.cards.repository.CardRepository;
 import com.banking.cards.repository.UserRepository;
 import com.banking.cards.service.AuditService;
+import com.banking.cards.service.LedgerService;
 import com.banking.cards.service.admin.AdminCardService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,6 +67,9 @@ class ApiCardServiceTest {
     @Mock
     private AdminCardService adminCardService;
 
+    @Mock
+    private LedgerService ledgerService;
+
     @InjectMocks
     private ApiCardService apiCardService;
 
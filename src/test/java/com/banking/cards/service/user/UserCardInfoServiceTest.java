@@ -4,6 +4,7 @@ import com.banking.cards.common.CardOperationType;
 import com.banking.cards.common.MaskedBalanceValue;
 import com.banking.cards.common.MaskedCardNumber;
 import com.banking.cards.config.MaskingConfig;
+import com.banking.cards.config.PartitionProperties;
 import com.banking.cards.dto.response.CardDto;
 import com.banking.cards.dto.response.CardOperationDto;
 import com.banking.cards.dto.response.PageResponse;
@@ -20,7 +21,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -29,6 +32,7 @@ import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +40,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -58,6 +63,9 @@ class UserCardInfoServiceTest {
     @Mock
     private MaskingConfig maskingConfig;
 
+    @Spy
+    private PartitionProperties partitionProperties = new PartitionProperties();
+
     @InjectMocks
     private UserCardInfoService userCardInfoService;
 
@@ -428,6 +436,30 @@ class UserCardInfoServiceTest {
         verify(operationRepository).findAllByFromCard_IdOrToCard_Id(testCard.getId(), testCard.getId(), expectedPageable);
     }
 
+    @Test
+    @DisplayName("getCardOperations - Ограничивает историю окном history-months, если оно задано")
+    void getCardOperations_shouldLimitHistoryToConfiguredWindow() {
+        // Arrange
+        String cardId = "4276550012345678";
+        PageRequest expectedPageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+        partitionProperties.setHistoryMonths(3);
+        ArgumentCaptor<Instant> sinceCaptor = ArgumentCaptor.forClass(Instant.class);
+
+        when(userRepository.findByUniqueKey(testUserId))
+                .thenReturn(Optional.of(testUser));
+        when(cardRepository.findByCardNumberAndOwner(cardId, testUser))
+                .thenReturn(Optional.of(testCard));
+        when(operationRepository.findCardHistory(eq(testCard.getId()), sinceCaptor.capture(), eq(expectedPageable)))
+                .thenReturn(new PageImpl<>(List.of(), expectedPageable, 0));
+
+        // Act
+        userCardInfoService.getCardOperations(cardId, testUserId, 0, 10);
+
+        // Assert
+        Instant expectedSince = Instant.now().atZone(ZoneOffset.UTC).minusMonths(3).toInstant();
+        assertThat(sinceCaptor.getValue()).isBetween(expectedSince.minusSeconds(60), expectedSince);
+    }
+
     @Test
     @DisplayName("getCardOperations - Возвращает пустую страницу при отсутствии операций")
     void getCardOperations_shouldReturnEmptyPage_whenNoOperations() {
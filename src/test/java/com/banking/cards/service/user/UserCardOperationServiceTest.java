@@ -3,12 +3,14 @@ package com.banking.cards.service.user;
 import com.banking.cards.common.CardStatus;
 import com.banking.cards.common.audit.AuditAction;
 import com.banking.cards.common.audit.AuditEntityType;
+import com.banking.cards.dto.request.CardTransferRequest;
 import com.banking.cards.entity.Card;
 import com.banking.cards.entity.User;
 import com.banking.cards.repository.CardRepository;
 import com.banking.cards.repository.UserRepository;
 import com.banking.cards.service.AuditService;
 import com.banking.cards.service.CardOperationService;
+import com.banking.cards.service.ShardedBalanceService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,11 +24,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -48,6 +53,9 @@ class UserCardOperationServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
     @Captor
     private ArgumentCaptor<String> auditDetailsCaptor;
 
@@ -286,6 +294,48 @@ class UserCardOperationServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("deposit - Пополнение hot-карты не меняет строку карты, только пишет операцию")
+    void deposit_shouldNotTouchBalance_whenCardIsHot() {
+        // Arrange
+        BigDecimal amount = new BigDecimal("300.00");
+        testCard1.setHot(true);
+
+        when(userRepository.findByUniqueKey(testUserId))
+                .thenReturn(Optional.of(testUser));
+        when(cardRepository.findByCardNumberAndOwner("4276550012345678", testUser))
+                .thenReturn(Optional.of(testCard1));
+
+        // Act
+        userCardOperationService.deposit("4276550012345678", amount, testUserId);
+
+        // Assert
+        assertThat(testCard1.getBalance()).isEqualTo(new BigDecimal("1000.00"));
+        verify(cardOperationService).logDeposit(testCard1, amount);
+    }
+
+    @Test
+    @DisplayName("withdraw - Списание с шардированной карты идёт через шарды, строка карты не меняется")
+    void withdraw_shouldDebitShards_whenCardIsSharded() {
+        // Arrange
+        BigDecimal amount = new BigDecimal("300.00");
+        testCard1.setBalance(BigDecimal.ZERO);
+        testCard1.setBalanceShards(4);
+
+        when(userRepository.findByUniqueKey(testUserId))
+                .thenReturn(Optional.of(testUser));
+        when(cardRepository.findByCardNumberAndOwner("4276550012345678", testUser))
+                .thenReturn(Optional.of(testCard1));
+
+        // Act
+        userCardOperationService.withdraw("4276550012345678", amount, testUserId);
+
+        // Assert
+        assertThat(testCard1.getBalance()).isEqualTo(BigDecimal.ZERO);
+        verify(shardedBalanceService).withdraw(testCard1, amount);
+        verify(cardOperationService).logWithdraw(testCard1, amount);
+    }
+
     @Test
     @DisplayName("deposit - Бросает исключение, если карта неактивна")
     void deposit_shouldThrowException_whenCardIsNotActive() {
@@ -546,4 +596,77 @@ class UserCardOperationServiceTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("Card is not active");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("transferBatch - Выполняет переводы пакета по порядку и пишет их пачкой")
+    void transferBatch_shouldApplyLegsInOrderAndLogInBatch() {
+        // Arrange
+        List<CardTransferRequest> legs = List.of(
+                new CardTransferRequest("4276550012345678", "4276550098765432", new BigDecimal("900.00")),
+                new CardTransferRequest("4276550098765432", "4276550012345678", new BigDecimal("1400.00"))
+        );
+
+        when(userRepository.findByUniqueKey(testUserId))
+                .thenReturn(Optional.of(testUser));
+        when(cardRepository.lockAllByOwnerAndCardNumberIn(eq(testUser), any()))
+                .thenReturn(List.of(testCard1, testCard2));
+
+        // Act
+        userCardOperationService.transferBatch(legs, testUserId);
+
+        // Assert
+        // Второй перевод возможен только после зачисления первого
+        assertThat(testCard1.getBalance()).isEqualByComparingTo("1500.00");
+        assertThat(testCard2.getBalance()).isEqualByComparingTo("0.00");
+
+        verify(cardOperationService).logTransfers(List.of(
+                new CardOperationService.Transfer(testCard1, testCard2, new BigDecimal("900.00")),
+                new CardOperationService.Transfer(testCard2, testCard1, new BigDecimal("1400.00"))
+        ));
+        verify(auditService).logAll(argThat(entries -> entries.size() == 4));
+        verify(auditService, never()).log(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("transferBatch - Бросает исключение, если карта пакета не найдена")
+    void transferBatch_shouldThrowException_whenCardNotFound() {
+        // Arrange
+        List<CardTransferRequest> legs = List.of(
+                new CardTransferRequest("4276550012345678", "4276550011112222", new BigDecimal("100.00"))
+        );
+
+        when(userRepository.findByUniqueKey(testUserId))
+                .thenReturn(Optional.of(testUser));
+        when(cardRepository.lockAllByOwnerAndCardNumberIn(eq(testUser), any()))
+                .thenReturn(List.of(testCard1));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userCardOperationService.transferBatch(legs, testUserId))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Card not found");
+
+        verifyNoInteractions(cardOperationService, auditService);
+    }
+
+    @Test
+    @DisplayName("transferBatch - Не пишет операции, если одному из переводов не хватает средств")
+    void transferBatch_shouldThrowException_whenAnyLegHasInsufficientFunds() {
+        // Arrange
+        List<CardTransferRequest> legs = List.of(
+                new CardTransferRequest("4276550012345678", "4276550098765432", new BigDecimal("100.00")),
+                new CardTransferRequest("4276550098765432", "4276550012345678", new BigDecimal("5000.00"))
+        );
+
+        when(userRepository.findByUniqueKey(testUserId))
+                .thenReturn(Optional.of(testUser));
+        when(cardRepository.lockAllByOwnerAndCardNumberIn(eq(testUser), any()))
+                .thenReturn(List.of(testCard1, testCard2));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userCardOperationService.transferBatch(legs, testUserId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Insufficient funds");
+
+        verifyNoInteractions(cardOperationService, auditService);
+    }
+}
@@ -0,0 +1,192 @@
+package com.banking.cards.service.user;
+
+import com.banking.cards.common.CardStatus;
+import com.banking.cards.common.ScheduledTransferStatus;
+import com.banking.cards.common.audit.AuditAction;
+import com.banking.cards.common.audit.AuditEntityType;
+import com.banking.cards.config.ScheduledTransferProperties;
+import com.banking.cards.dto.request.ScheduleTransferRequest;
+import com.banking.cards.entity.Card;
+import com.banking.cards.entity.ScheduledTransfer;
+import com.banking.cards.entity.User;
+import com.banking.cards.mapper.CardMapper;
+import com.banking.cards.repository.CardRepository;
+import com.banking.cards.repository.ScheduledTransferRepository;
+import com.banking.cards.repository.UserRepository;
+import com.banking.cards.service.AuditService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserScheduledTransferServiceTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final String FROM = "4276550012345678";
+    private static final String TO = "4276550098765432";
+    private static final Instant MIDNIGHT = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private CardMapper mapper;
+
+    @Spy
+    private ScheduledTransferProperties properties = new ScheduledTransferProperties();
+
+    @Captor
+    private ArgumentCaptor<ScheduledTransfer> transferCaptor;
+
+    @InjectMocks
+    private UserScheduledTransferService service;
+
+    private User user;
+    private Card fromCard;
+    private Card toCard;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().uniqueKey(USER_ID).username("testuser").build();
+        fromCard = card(1L, FROM);
+        toCard = card(2L, TO);
+    }
+
+    @Test
+    @DisplayName("schedule - Сохраняет перевод со сроком внутри окна разброса")
+    void schedule_shouldSpreadDueTimeWithinWindow() {
+        // Arrange
+        stubUserCards();
+        when(scheduledTransferRepository.save(any(ScheduledTransfer.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        service.schedule(new ScheduleTransferRequest(FROM, TO, new BigDecimal("100.00"), MIDNIGHT), USER_ID);
+
+        // Assert
+        verify(scheduledTransferRepository).save(transferCaptor.capture());
+        ScheduledTransfer saved = transferCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(ScheduledTransferStatus.PENDING);
+        assertThat(saved.getUserKey()).isEqualTo(USER_ID);
+        assertThat(saved.getExecuteAt()).isEqualTo(MIDNIGHT);
+        assertThat(saved.getDueAt())
+                .isAfterOrEqualTo(MIDNIGHT)
+                .isBefore(MIDNIGHT.plusMillis(properties.getSpreadWindow()));
+        verify(auditService).log(eq(AuditAction.SCHEDULED_TRANSFER_CREATED),
+                eq(AuditEntityType.SCHEDULED_TRANSFER), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("schedule - Не сохраняет перевод с заблокированной карты")
+    void schedule_shouldRejectBlockedCard() {
+        // Arrange
+        fromCard.setStatus(CardStatus.BLOCKED);
+        stubUserCards();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.schedule(
+                new ScheduleTransferRequest(FROM, TO, new BigDecimal("100.00"), MIDNIGHT), USER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Card is not active");
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("cancel - Отменяет ожидающий перевод")
+    void cancel_shouldCancelPendingTransfer() {
+        // Arrange
+        ScheduledTransfer transfer = transfer(ScheduledTransferStatus.PENDING);
+        when(scheduledTransferRepository.lockById(5L)).thenReturn(Optional.of(transfer));
+
+        // Act
+        service.cancel(5L, USER_ID);
+
+        // Assert
+        assertThat(transfer.getStatus()).isEqualTo(ScheduledTransferStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("cancel - Не отменяет уже начатый перевод")
+    void cancel_shouldRejectRunningTransfer() {
+        // Arrange
+        when(scheduledTransferRepository.lockById(5L))
+                .thenReturn(Optional.of(transfer(ScheduledTransferStatus.RUNNING)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.cancel(5L, USER_ID))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("cancel - Чужой перевод не виден")
+    void cancel_shouldNotFindForeignTransfer() {
+        // Arrange
+        when(scheduledTransferRepository.lockById(5L))
+                .thenReturn(Optional.of(transfer(ScheduledTransferStatus.PENDING)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.cancel(5L, UUID.randomUUID()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private void stubUserCards() {
+        when(userRepository.findByUniqueKey(USER_ID)).thenReturn(Optional.of(user));
+        when(cardRepository.findByCardNumberAndOwner(FROM, user)).thenReturn(Optional.of(fromCard));
+        when(cardRepository.findByCardNumberAndOwner(TO, user)).thenReturn(Optional.of(toCard));
+    }
+
+    private ScheduledTransfer transfer(ScheduledTransferStatus status) {
+        return ScheduledTransfer.builder()
+                .id(5L)
+                .userKey(USER_ID)
+                .fromCard(fromCard)
+                .toCard(toCard)
+                .amount(new BigDecimal("100.00"))
+                .executeAt(MIDNIGHT)
+                .dueAt(MIDNIGHT)
+                .status(status)
+                .build();
+    }
+
+    private Card card(Long id, String number) {
+        return Card.builder()
+                .id(id)
+                .cardNumber(number)
+                .owner(user)
+                .balance(new BigDecimal("1000.00"))
+                .validityPeriod(YearMonth.of(2029, 12))
+                .status(CardStatus.ACTIVE)
+                .build();
+    }
+}
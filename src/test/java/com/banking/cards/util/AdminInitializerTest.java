@@ -0,0 +1,81 @@
+package com.banking.cards.util;
+
+import com.banking.cards.config.AdminProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdminInitializerTest {
+
+    private static final String HASH = "$2a$10$precomputedprecomputedprecomputedprecomputedprecompu";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private AdminProperties properties;
+    private AdminInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdminProperties();
+        properties.setUsername("admin");
+        properties.setPassword("admin123");
+        initializer = new AdminInitializer(jdbcTemplate, passwordEncoder, properties);
+    }
+
+    @Test
+    @DisplayName("initAdminUser - Вставляет готовый хеш без хеширования при старте")
+    void initAdminUser_withPasswordHash_shouldNotEncode() {
+        // Arrange
+        properties.setPasswordHash(HASH);
+
+        // Act
+        initializer.initAdminUser();
+
+        // Assert
+        verify(jdbcTemplate).update(contains("ON CONFLICT (username) DO NOTHING"), any(), eq("admin"), eq(HASH), eq("ADMIN"));
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("initAdminUser - Без готового хеша хеширует пароль из настроек")
+    void initAdminUser_withoutPasswordHash_shouldEncodePassword() {
+        // Arrange
+        when(passwordEncoder.encode("admin123")).thenReturn("encoded");
+
+        // Act
+        initializer.initAdminUser();
+
+        // Assert
+        verify(jdbcTemplate).update(any(String.class), any(), eq("admin"), eq("encoded"), eq("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("initAdminUser - Пропускает создание, если оно выключено на узле")
+    void initAdminUser_seedDisabled_shouldSkip() {
+        // Arrange
+        properties.setSeedOnStart(false);
+
+        // Act
+        initializer.initAdminUser();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate, passwordEncoder);
+    }
+}
@@ -0,0 +1,37 @@
+package com.banking.cards.util;
+
+import com.banking.cards.common.metrics.QueryStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверки числа SQL-выражений для тестов с настоящим DataSource (Testcontainers):
+ * <pre>{@code
+ * QueryCountAssertions.assertMaxStatements(12, () -> mockMvc.perform(post("/api/cards/deposit")...));
+ * }</pre>
+ * MockMvc выполняет запрос в том же потоке, поэтому учитываются и выражения фильтров.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static int countStatements(ThrowingRunnable action) throws Exception {
+        try (QueryStats stats = QueryStats.open()) {
+            action.run();
+            return stats.statements();
+        }
+    }
+
+    public static void assertMaxStatements(int max, ThrowingRunnable action) throws Exception {
+        int statements = countStatements(action);
+        assertThat(statements)
+                .as("SQL statements issued")
+                .isLessThanOrEqualTo(max);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
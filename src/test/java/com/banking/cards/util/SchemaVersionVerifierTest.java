@@ -0,0 +1,81 @@
+package com.banking.cards.util;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaVersionVerifierTest {
+
+    private static final String CHANGE_LOG = "classpath:db.migration/root-changelog.xml";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("verify - Пропускает старт, когда применены все changeSet'ы")
+    void verify_allApplied_shouldPass() throws Exception {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(allChangeSets());
+        SchemaVersionVerifier verifier = new SchemaVersionVerifier(jdbcTemplate, CHANGE_LOG, true);
+
+        // Act & Assert
+        assertThatCode(verifier::verify).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("verify - Не даёт стартовать, если схема отстаёт от changelog'а")
+    void verify_missingChangeSet_shouldFail() throws Exception {
+        // Arrange
+        List<String> applied = allChangeSets();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(applied.subList(0, applied.size() - 1));
+        SchemaVersionVerifier verifier = new SchemaVersionVerifier(jdbcTemplate, CHANGE_LOG, true);
+
+        // Act & Assert
+        assertThatThrownBy(verifier::verify)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1 change sets not applied")
+                .hasMessageContaining(applied.get(applied.size() - 1))
+                .hasMessageContaining("--migrate");
+    }
+
+    @Test
+    @DisplayName("verify - Выключенная проверка не обращается к БД")
+    void verify_disabled_shouldSkipQuery() {
+        // Arrange
+        SchemaVersionVerifier verifier = new SchemaVersionVerifier(jdbcTemplate, CHANGE_LOG, false);
+
+        // Act
+        verifier.verify();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static List<String> allChangeSets() throws Exception {
+        ClassLoaderResourceAccessor accessor = new ClassLoaderResourceAccessor();
+        String path = "db.migration/root-changelog.xml";
+        return ChangeLogParserFactory.getInstance()
+                .getParser(path, accessor)
+                .parse(path, new ChangeLogParameters(), accessor)
+                .getChangeSets().stream()
+                .map(changeSet -> changeSet.getId() + "::" + changeSet.getAuthor())
+                .toList();
+    }
+}